@@ -0,0 +1,62 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.mapper.AttractionMapper;
+import com.example.attractions.mapper.AttractionMapperImpl;
+import com.example.attractions.model.Attraction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк преобразований {@link AttractionMapper} между сущностью и DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttractionMapperBenchmark {
+
+    @Param({"0", "5"})
+    private int assistanceCount;
+
+    private final AttractionMapper mapper = new AttractionMapperImpl();
+    private Attraction attraction;
+    private List<Long> assistanceIds;
+    private AttractionDto dto;
+
+    @Setup
+    public void setUp() {
+        attraction = BenchmarkData.attraction(42, assistanceCount);
+        dto = BenchmarkData.attractionDto(42, assistanceCount);
+        assistanceIds = dto.getAssistanceIds();
+    }
+
+    @Benchmark
+    public AttractionDto toDto() {
+        return mapper.toDto(attraction);
+    }
+
+    @Benchmark
+    public AttractionDto toDtoWithPreloadedAssistanceIds() {
+        return mapper.toDto(attraction, assistanceIds);
+    }
+
+    @Benchmark
+    public Attraction toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
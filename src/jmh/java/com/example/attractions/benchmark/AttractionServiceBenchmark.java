@@ -0,0 +1,67 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.service.AttractionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сквозной бенчмарк {@link AttractionService#getAllAttractions} на PostgreSQL в Testcontainers:
+ * запросы страницы и услуг, маппинг в DTO. Требует запущенный Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttractionServiceBenchmark {
+
+    private static final int ATTRACTIONS = 100_000;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"0", "1000"})
+    private int pageNumber;
+
+    @Param({"", "museum"})
+    private String type;
+
+    private BenchmarkDatabase database;
+    private AttractionService attractionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(WebApplicationType.NONE, ATTRACTIONS);
+        attractionService = database.getBean(AttractionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Benchmark
+    public Page<AttractionDto> getAllAttractions() {
+        return attractionService.getAllAttractions(type.isEmpty() ? null : type, PageRequest.of(pageNumber, pageSize));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.mapper.AttractionMapper;
+import com.example.attractions.mapper.AttractionMapperImpl;
+import com.example.attractions.model.AttractionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк разбора типа достопримечательности из строки запроса.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttractionTypeParsingBenchmark {
+
+    @Param({"MUSEUM", "museum", "Archaeological_Site"})
+    private String type;
+
+    private final AttractionMapper mapper = new AttractionMapperImpl();
+
+    @Benchmark
+    public AttractionType valueOfUpperCase() {
+        return AttractionType.valueOf(type.toUpperCase());
+    }
+
+    @Benchmark
+    public AttractionType mapperMapStringToType() {
+        return mapper.mapStringToType(type);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.Attraction;
+import com.example.attractions.model.AttractionType;
+import com.example.attractions.model.Locality;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовые данные для бенчмарков.
+ */
+final class BenchmarkData {
+
+    private static final AttractionType[] TYPES = AttractionType.values();
+
+    private BenchmarkData() {
+    }
+
+    static Attraction attraction(long id, int assistanceCount) {
+        Locality locality = new Locality();
+        locality.setId(id % 100);
+        locality.setName("Locality " + id % 100);
+        locality.setRegion("Region");
+
+        List<Assistance> assistanceList = new ArrayList<>(assistanceCount);
+        for (long i = 0; i < assistanceCount; i++) {
+            Assistance assistance = new Assistance();
+            assistance.setId(i + 1);
+            assistanceList.add(assistance);
+        }
+
+        Attraction attraction = new Attraction();
+        attraction.setId(id);
+        attraction.setName("Attraction " + id);
+        attraction.setCreationDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        attraction.setShortDescription("Short description of attraction " + id);
+        attraction.setType(TYPES[(int) (id % TYPES.length)]);
+        attraction.setLocality(locality);
+        attraction.setAssistanceList(assistanceList);
+        return attraction;
+    }
+
+    static AttractionDto attractionDto(long id, int assistanceCount) {
+        AttractionDto dto = new AttractionDto();
+        dto.setId(id);
+        dto.setName("Attraction " + id);
+        dto.setCreationDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        dto.setShortDescription("Short description of attraction " + id);
+        dto.setType(TYPES[(int) (id % TYPES.length)].name().toLowerCase());
+        dto.setLocalityId(id % 100);
+        List<Long> assistanceIds = new ArrayList<>(assistanceCount);
+        for (long i = 0; i < assistanceCount; i++) {
+            assistanceIds.add(i + 1);
+        }
+        dto.setAssistanceIds(assistanceIds);
+        return dto;
+    }
+}
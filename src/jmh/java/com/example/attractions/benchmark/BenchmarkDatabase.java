@@ -0,0 +1,96 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.AttractionDataApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL в Testcontainers с заполненным каталогом и запущенным поверх него приложением.
+ * Используется сквозными бенчмарками; требует запущенный Docker.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    /**
+     * Запускает базу, приложение и заполняет каталог.
+     *
+     * @param webApplicationType Тип приложения: {@code NONE} для вызова сервисов, {@code SERVLET} для HTTP.
+     * @param attractions        Количество достопримечательностей.
+     * @param properties         Дополнительные свойства приложения в формате {@code key=value}.
+     */
+    static BenchmarkDatabase start(WebApplicationType webApplicationType, int attractions, String... properties) {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+        postgres.start();
+
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.show-sql=false",
+                "server.port=0",
+                "logging.level.root=WARN",
+                "logging.level.com.example.attractions=WARN"));
+        allProperties.addAll(List.of(properties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AttractionDataApplication.class)
+                .web(webApplicationType)
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+        seed(context.getBean(JdbcTemplate.class), attractions);
+        return new BenchmarkDatabase(postgres, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int getPort() {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.stop();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int attractions) {
+        jdbcTemplate.update("""
+                INSERT INTO locality (id, name, region, latitude, longitude)
+                SELECT g, 'Locality ' || g, 'Region ' || (g % 50), 40 + g % 30, 30 + g % 60
+                  FROM generate_series(1, 1000) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO assistance (id, type, short_description, executor)
+                SELECT g, (ARRAY['GUIDE', 'CAR_TOUR', 'CATERING'])[1 + g % 3], 'Assistance ' || g, 'Executor ' || g
+                  FROM generate_series(1, 100) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO attraction (id, name, short_description, type, locality_id)
+                SELECT g, 'Attraction ' || g, 'Description of attraction ' || g,
+                       (ARRAY['PALACE', 'PARK', 'MUSEUM', 'ARCHAEOLOGICAL_SITE', 'RESERVE'])[1 + g % 5],
+                       1 + g % 1000
+                  FROM generate_series(1, ?) g
+                """, attractions);
+        jdbcTemplate.update("""
+                INSERT INTO attraction_assistance (attraction_id, assistance_id)
+                SELECT a.id, 1 + (a.id + s) % 100
+                  FROM attraction a, generate_series(0, 2) s
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
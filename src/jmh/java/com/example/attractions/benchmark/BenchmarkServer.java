@@ -0,0 +1,58 @@
+package com.example.attractions.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Приложение, запущенное поверх {@link BenchmarkDatabase} как HTTP-сервер, и клиент к нему.
+ * Используется нагрузочными бенчмарками эндпоинтов; требует запущенный Docker.
+ */
+final class BenchmarkServer implements AutoCloseable {
+
+    private final BenchmarkDatabase database;
+    private final HttpClient client;
+    private final String baseUrl;
+
+    private BenchmarkServer(BenchmarkDatabase database) {
+        this.database = database;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.baseUrl = "http://localhost:" + database.getPort();
+    }
+
+    /**
+     * Запускает базу и приложение на случайном порту.
+     *
+     * @param attractions Количество достопримечательностей.
+     * @param properties  Дополнительные свойства приложения в формате {@code key=value}.
+     */
+    static BenchmarkServer start(int attractions, String... properties) {
+        return new BenchmarkServer(BenchmarkDatabase.start(WebApplicationType.SERVLET, attractions, properties));
+    }
+
+    /**
+     * Выполняет {@code GET}-запрос и отбрасывает тело ответа.
+     *
+     * @param path Путь с параметрами запроса.
+     * @return Код ответа, всегда {@code 200}.
+     * @throws IllegalStateException если сервер вернул другой код.
+     */
+    int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + path);
+        }
+        return response.statusCode();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        database.close();
+    }
+}
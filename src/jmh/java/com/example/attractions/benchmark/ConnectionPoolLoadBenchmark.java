@@ -0,0 +1,73 @@
+package com.example.attractions.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный бенчмарк: пропускная способность HTTP-эндпоинтов {@code /attractions}
+ * при {@link #CLIENTS} параллельных клиентах в зависимости от размера пула соединений.
+ * Запуск: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=ConnectionPoolLoadBenchmark}.
+ * Требует запущенный Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(ConnectionPoolLoadBenchmark.CLIENTS)
+@Fork(1)
+public class ConnectionPoolLoadBenchmark {
+
+    static final int CLIENTS = 64;
+    private static final int ATTRACTIONS = 100_000;
+    private static final int PAGES = 500;
+
+    @Param({"2", "5", "10", "20", "40"})
+    private int poolSize;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.start(ATTRACTIONS,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize,
+                "spring.datasource.hikari.connection-timeout=30000",
+                "server.tomcat.threads.max=" + CLIENTS * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(PAGES);
+        return server.get("/attractions?page=" + page + "&size=20");
+    }
+
+    @Benchmark
+    public int listByLocality() throws IOException, InterruptedException {
+        int localityId = 1 + ThreadLocalRandom.current().nextInt(1000);
+        return server.get("/attractions/locality/" + localityId + "?size=20");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.attractions.benchmark;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.service.AttractionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы инструментирования: пропускная способность {@code GET /attractions} и
+ * {@link AttractionService#getAllAttractions} с включенными и выключенными метриками
+ * (таймеры {@code @Timed}, счетчик SQL-запросов, статистика Hibernate, метрики Actuator).
+ * Требует запущенный Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int ATTRACTIONS = 100_000;
+    private static final int PAGES = 500;
+
+    @Param({"true", "false"})
+    private boolean instrumented;
+
+    private BenchmarkDatabase database;
+    private AttractionService attractionService;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(WebApplicationType.SERVLET, ATTRACTIONS,
+                "app.metrics.enabled=" + instrumented,
+                "management.metrics.enable.all=" + instrumented,
+                "spring.jpa.properties.hibernate.generate_statistics=" + instrumented);
+        attractionService = database.getBean(AttractionService.class);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + database.getPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Benchmark
+    public int httpListPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(PAGES);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/attractions?page=" + page + "&size=20"))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public Page<AttractionDto> serviceListPage() {
+        int page = ThreadLocalRandom.current().nextInt(PAGES);
+        return attractionService.getAllAttractions(null, PageRequest.of(page, 20));
+    }
+}
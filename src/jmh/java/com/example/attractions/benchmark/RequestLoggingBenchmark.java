@@ -0,0 +1,64 @@
+package com.example.attractions.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Влияние журналирования на пропускную способность {@code GET /attractions}.
+ * <p>
+ * Профиль {@code dev} повторяет прежнюю конфигурацию (DEBUG для приложения, {@code show-sql},
+ * запись о каждом запросе), профиль {@code prod} — выборочную асинхронную запись без SQL.
+ * Требует запущенный Docker.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final int ATTRACTIONS = 100_000;
+    private static final int PAGES = 500;
+
+    @Param({"dev", "prod"})
+    private String profile;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.start(ATTRACTIONS, "spring.profiles.active=" + profile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(PAGES);
+        return server.get("/attractions?page=" + page + "&size=20");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.attractions.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение платформенных и виртуальных потоков на эндпоинтах {@code AttractionController}
+ * при {@link #CLIENTS} параллельных клиентах. Режим {@code SampleTime} дает распределение задержек
+ * (p50/p99) в результатах JMH. Требует запущенный Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(ThreadingModelLoadBenchmark.CLIENTS)
+@Fork(1)
+public class ThreadingModelLoadBenchmark {
+
+    static final int CLIENTS = 512;
+    private static final int ATTRACTIONS = 100_000;
+    private static final int PAGES = 500;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.start(ATTRACTIONS,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "spring.datasource.hikari.connection-timeout=30000",
+                "server.tomcat.max-connections=" + CLIENTS * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(PAGES);
+        return server.get("/attractions?page=" + page + "&size=20");
+    }
+
+    @Benchmark
+    public int cursorPage() throws IOException, InterruptedException {
+        return server.get("/attractions/cursor?size=20");
+    }
+
+    @Benchmark
+    public int listByLocality() throws IOException, InterruptedException {
+        int localityId = 1 + ThreadLocalRandom.current().nextInt(1000);
+        return server.get("/attractions/locality/" + localityId + "?size=20");
+    }
+}
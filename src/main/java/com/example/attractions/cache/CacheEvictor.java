@@ -0,0 +1,56 @@
+package com.example.attractions.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Сбрасывает кэши DTO после фиксации текущей транзакции.
+ * <p>
+ * Сброс до фиксации позволил бы параллельному чтению снова закэшировать прежнее состояние, которое
+ * оставалось бы в кэше до истечения времени жизни записи. Вне транзакции сброс выполняется сразу.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class CacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evict(String cacheName, Object key) {
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        });
+    }
+
+    public void clear(String... cacheNames) {
+        afterCommit(() -> {
+            for (String cacheName : cacheNames) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции; вне транзакции — сразу.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
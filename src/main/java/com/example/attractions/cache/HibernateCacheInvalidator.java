@@ -0,0 +1,117 @@
+package com.example.attractions.cache;
+
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.Locality;
+import com.example.attractions.repository.TableVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Сбрасывает кэш второго уровня Hibernate при изменениях, которые Hibernate не видит.
+ * <p>
+ * Изменения через сущности Hibernate отражает в кэше сам. Записи через {@code JdbcTemplate} (частичные
+ * обновления, пакетная запись связей, загрузка архива) и каскадные удаления по внешним ключам сбрасываются
+ * методами {@code evict*} после фиксации транзакции на том экземпляре, который их выполнил.
+ * </p>
+ * <p>
+ * Остальные экземпляры замечают изменения по версиям таблиц в {@code table_version}: {@link #poll()}
+ * сбрасывает регионы таблиц, версии которых изменились с прошлой проверки, и повторно — на следующей проверке,
+ * чтобы убрать значения, прочитанные до фиксации изменения и записанные в кэш после первого сброса.
+ * </p>
+ */
+@Slf4j
+public class HibernateCacheInvalidator {
+
+    static final String LOCALITY_ASSISTANCES = Locality.class.getName() + ".assistanceList";
+
+    private final Cache cache;
+    private final TableVersionRepository tableVersionRepository;
+
+    private Map<String, Long> versions;
+    private Set<String> changedTables = Set.of();
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                     TableVersionRepository tableVersionRepository) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.tableVersionRepository = tableVersionRepository;
+    }
+
+    public void evictLocality(Long id) {
+        CacheEvictor.afterCommit(() -> cache.evictEntityData(Locality.class, id));
+    }
+
+    public void evictAssistance(Long id) {
+        CacheEvictor.afterCommit(() -> cache.evictEntityData(Assistance.class, id));
+    }
+
+    /**
+     * Сбрасывает закэшированные списки услуг указанных местоположений.
+     */
+    public void evictLocalityAssistances(Collection<Long> localityIds) {
+        CacheEvictor.afterCommit(() -> localityIds.forEach(id -> cache.evictCollectionData(LOCALITY_ASSISTANCES, id)));
+    }
+
+    /**
+     * Сбрасывает закэшированные списки услуг всех местоположений.
+     */
+    public void evictLocalityAssistances() {
+        CacheEvictor.afterCommit(() -> cache.evictCollectionData(LOCALITY_ASSISTANCES));
+    }
+
+    /**
+     * Сбрасывает закэшированные результаты запросов по достопримечательностям.
+     */
+    public void evictAttractionQueries() {
+        CacheEvictor.afterCommit(cache::evictDefaultQueryRegion);
+    }
+
+    public void evictAll() {
+        CacheEvictor.afterCommit(cache::evictAllRegions);
+    }
+
+    /**
+     * Сравнивает версии таблиц с прошлой проверкой и сбрасывает регионы измененных таблиц.
+     */
+    public void poll() {
+        try {
+            Map<String, Long> current = tableVersionRepository.findVersions();
+            Set<String> changed = new HashSet<>();
+            if (versions != null) {
+                current.forEach((table, version) -> {
+                    if (!Objects.equals(versions.get(table), version)) {
+                        changed.add(table);
+                    }
+                });
+            }
+            Set<String> stale = new HashSet<>(changed);
+            stale.addAll(changedTables);
+            stale.forEach(this::evictTable);
+            if (!changed.isEmpty()) {
+                log.debug("Кэш второго уровня сброшен для измененных таблиц: {}", changed);
+            }
+            versions = current;
+            changedTables = changed;
+        } catch (DataAccessException e) {
+            log.warn("Не удалось проверить версии таблиц для кэша второго уровня: {}", e.getMessage());
+        }
+    }
+
+    private void evictTable(String table) {
+        switch (table) {
+            case TableVersionRepository.LOCALITY -> cache.evictEntityData(Locality.class);
+            case TableVersionRepository.ASSISTANCE -> cache.evictEntityData(Assistance.class);
+            case TableVersionRepository.LOCALITY_ASSISTANCE -> cache.evictCollectionData(LOCALITY_ASSISTANCES);
+            case TableVersionRepository.ATTRACTION -> cache.evictDefaultQueryRegion();
+            default -> { }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.attractions.cache;
+
+import com.example.attractions.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Периодически сворачивает журнал изменений таблиц ({@code table_change}) в базовые версии
+ * ({@code table_version}), чтобы чтение версий не замедлялось с ростом журнала.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TableVersionCompactor {
+
+    private final TableVersionRepository tableVersionRepository;
+
+    public void compact() {
+        try {
+            int tables = tableVersionRepository.compact();
+            log.debug("Журнал изменений свернут для таблиц: {}", tables);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось свернуть журнал изменений таблиц: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.attractions.config;
+
+import com.example.attractions.cache.CacheEvictor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация кэширования справочных данных.
+ * <p>
+ * Кэшируются DTO (а не сущности), поэтому записи кэша не зависят от сессии Hibernate.
+ * Размер, время жизни и сбор статистики задаются в {@code spring.cache.caffeine.spec}.
+ * Методы записи сбрасывают кэши через {@link CacheEvictor} после фиксации транзакции, а не аннотацией
+ * {@code @CacheEvict}, которая внутри транзакции срабатывает до фиксации.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LOCALITIES = "localities";
+    public static final String ASSISTANCES = "assistances";
+
+    @Bean
+    public CacheEvictor cacheEvictor(CacheManager cacheManager) {
+        return new CacheEvictor(cacheManager);
+    }
+}
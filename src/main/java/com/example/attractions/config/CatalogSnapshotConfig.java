@@ -0,0 +1,69 @@
+package com.example.attractions.config;
+
+import com.example.attractions.repository.AttractionChangeRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.snapshot.AttractionChangePruner;
+import com.example.attractions.snapshot.AttractionSnapshotRefresher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Снимок каталога в памяти и обслуживание ленты изменений достопримечательностей.
+ * <p>
+ * Лента заполняется триггерами всегда, поэтому ее очистка включена независимо от снимка.
+ * Снимок включается свойством {@code app.catalog-snapshot.enabled=true}.
+ * Задачи регистрируются с интервалами из {@link CatalogSnapshotProperties}, поэтому интервалы
+ * задаются в том же формате, что и остальные длительности ({@code 1s}, {@code 10m}).
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CatalogSnapshotProperties.class)
+public class CatalogSnapshotConfig implements SchedulingConfigurer {
+
+    private final CatalogSnapshotProperties properties;
+    private final ObjectProvider<AttractionChangePruner> pruner;
+    private final ObjectProvider<AttractionSnapshotRefresher> refresher;
+
+    public CatalogSnapshotConfig(CatalogSnapshotProperties properties,
+                                 ObjectProvider<AttractionChangePruner> pruner,
+                                 ObjectProvider<AttractionSnapshotRefresher> refresher) {
+        this.properties = properties;
+        this.pruner = pruner;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration pruneInterval = properties.getPruneInterval();
+        pruner.ifAvailable(task -> registrar.addFixedDelayTask(new FixedDelayTask(task::prune, pruneInterval, pruneInterval)));
+        refresher.ifAvailable(task ->
+                registrar.addFixedDelayTask(new FixedDelayTask(task::refresh, properties.getRefreshInterval(), Duration.ZERO)));
+    }
+
+    @Bean
+    public AttractionChangePruner attractionChangePruner(AttractionChangeRepository attractionChangeRepository,
+                                                         CatalogSnapshotProperties properties) {
+        return new AttractionChangePruner(attractionChangeRepository, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.catalog-snapshot", name = "enabled", havingValue = "true")
+    public AttractionSnapshotRefresher attractionSnapshotRefresher(CatalogJdbcRepository catalogJdbcRepository,
+                                                                   AttractionChangeRepository attractionChangeRepository,
+                                                                   PlatformTransactionManager transactionManager,
+                                                                   CatalogSnapshotProperties properties) {
+        return new AttractionSnapshotRefresher(catalogJdbcRepository, attractionChangeRepository,
+                transactionManager, properties);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки снимка каталога в памяти ({@code app.catalog-snapshot.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.catalog-snapshot")
+public class CatalogSnapshotProperties {
+
+    /**
+     * Включает обслуживание списков достопримечательностей из снимка в памяти.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Пауза между обновлениями снимка из ленты изменений. Определяет задержку появления изменений в списках.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * Если снимок не удавалось обновить дольше этого времени, списки читаются из базы.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(30);
+
+    /**
+     * Время хранения строк ленты изменений. Должно заметно превышать {@code refresh-interval}.
+     */
+    private Duration changeRetention = Duration.ofHours(1);
+
+    /**
+     * Пауза между очистками ленты изменений.
+     */
+    private Duration pruneInterval = Duration.ofMinutes(10);
+}
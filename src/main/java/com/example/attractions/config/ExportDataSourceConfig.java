@@ -0,0 +1,46 @@
+package com.example.attractions.config;
+
+import com.example.attractions.jdbc.ExportConnectionPool;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Пул соединений потоковых выгрузок ({@code /attractions/export}, {@code /catalog/export}).
+ * <p>
+ * По умолчанию подключается к основной базе с учетными данными {@code spring.datasource.*};
+ * размер, таймауты и адрес (например, реплики) задаются свойствами Hikari {@code app.datasource.export.*}.
+ * Метрики пула публикуются как {@code hikaricp.*} с тегом {@code pool=export}.
+ * </p>
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.export")
+    public HikariConfig exportHikariConfig(DataSourceProperties properties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setPoolName("export");
+        config.setReadOnly(true);
+        config.setMinimumIdle(0);
+        meterRegistry.ifAvailable(registry ->
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return config;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExportConnectionPool exportConnectionPool(@Qualifier("exportHikariConfig") HikariConfig config) {
+        return new ExportConnectionPool(config);
+    }
+}
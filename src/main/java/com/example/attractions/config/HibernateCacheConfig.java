@@ -0,0 +1,97 @@
+package com.example.attractions.config;
+
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.Locality;
+import com.example.attractions.repository.TableVersionRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Кэш второго уровня Hibernate для справочных сущностей {@link Locality} и {@link Assistance}
+ * и кэш результатов запросов.
+ * <p>
+ * Регионы хранятся в Caffeine через JCache и создаются здесь заранее: неизвестный регион приводит к ошибке
+ * запуска, а не к неограниченному кэшу с настройками по умолчанию. Регион меток времени обновления таблиц
+ * не ограничивается по размеру и времени жизни, иначе кэш запросов может вернуть устаревший результат.
+ * Согласованность между экземплярами приложения обеспечивает {@link HibernateCacheInvalidator}.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+public class HibernateCacheConfig implements SchedulingConfigurer {
+
+    private final HibernateCacheProperties properties;
+    private final ObjectProvider<HibernateCacheInvalidator> invalidator;
+
+    public HibernateCacheConfig(HibernateCacheProperties properties,
+                                ObjectProvider<HibernateCacheInvalidator> invalidator) {
+        this.properties = properties;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        HibernateCacheInvalidator task = invalidator.getObject();
+        registrar.addFixedDelayTask(new FixedDelayTask(task::poll, properties.getInvalidationInterval(), Duration.ZERO));
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : new String[]{Locality.class.getName(), Locality.class.getName() + ".assistanceList",
+                Assistance.class.getName(), RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            cacheManager.createCache(region, regionConfiguration(true));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public HibernateCacheInvalidator hibernateCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                               TableVersionRepository tableVersionRepository) {
+        return new HibernateCacheInvalidator(entityManagerFactory, tableVersionRepository);
+    }
+
+    // Значения хранятся по ссылке: записи Hibernate неизменяемы, копирование при каждом обращении не нужно.
+    private CaffeineConfiguration<Object, Object> regionConfiguration(boolean bounded) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (bounded) {
+            configuration.setMaximumSize(OptionalLong.of(properties.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.getExpireAfterWrite().toNanos()));
+        }
+        return configuration;
+    }
+}
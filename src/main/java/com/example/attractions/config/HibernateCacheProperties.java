@@ -0,0 +1,30 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша второго уровня Hibernate ({@code app.hibernate-cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.hibernate-cache")
+public class HibernateCacheProperties {
+
+    /**
+     * Максимальное количество записей в каждом регионе сущностей, коллекций и запросов.
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * Время жизни записи. Ограничивает устаревание, если изменение на другом экземпляре не было замечено.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Пауза между проверками версий таблиц. Определяет задержку, с которой экземпляр замечает изменения,
+     * выполненные другими экземплярами приложения.
+     */
+    private Duration invalidationInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,22 @@
+package com.example.attractions.config;
+
+import com.example.attractions.controller.ConditionalResponses;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+/**
+ * Настройка {@code Cache-Control} для ответов на условные GET-запросы.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class HttpCacheConfig {
+
+    @Bean
+    public ConditionalResponses conditionalResponses(HttpCacheProperties properties) {
+        return new ConditionalResponses(CacheControl.maxAge(properties.getMaxAge())
+                .sMaxAge(properties.getSharedMaxAge())
+                .cachePublic());
+    }
+}
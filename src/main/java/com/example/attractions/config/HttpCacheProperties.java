@@ -0,0 +1,24 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки HTTP-кэширования ответов с ETag ({@code app.http-cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Время жизни ответа в кэше клиента ({@code max-age}). При нуле клиент перепроверяет ответ по ETag каждый раз.
+     */
+    private Duration maxAge = Duration.ZERO;
+
+    /**
+     * Время жизни ответа в общих кэшах, например CDN ({@code s-maxage}).
+     */
+    private Duration sharedMaxAge = Duration.ofSeconds(60);
+}
@@ -0,0 +1,44 @@
+package com.example.attractions.config;
+
+import com.example.attractions.metrics.StatementCountFilter;
+import com.example.attractions.metrics.StatementCountingInspector;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Прикладные метрики.
+ * <p>
+ * Таймеры HTTP-эндпоинтов ({@code http.server.requests}) и методов репозиториев Spring Data
+ * ({@code spring.data.repository.invocations}) создаются автоконфигурацией Actuator.
+ * Здесь включаются таймеры методов сервисов и JDBC-репозиториев, помеченных {@code @Timed},
+ * и количество SQL-запросов на HTTP-запрос. Отключается свойством {@code app.metrics.enabled=false}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
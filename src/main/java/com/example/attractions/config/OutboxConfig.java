@@ -0,0 +1,71 @@
+package com.example.attractions.config;
+
+import com.example.attractions.outbox.ChangeEventRelay;
+import com.example.attractions.outbox.ChangeEventSink;
+import com.example.attractions.outbox.FileChangeEventSink;
+import com.example.attractions.outbox.InMemoryChangeEventSink;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Ретрансляция исходящих событий изменений каталога.
+ * <p>
+ * Получатель выбирается свойством {@code app.outbox.sink}; собственный получатель подключается объявлением
+ * бина {@link ChangeEventSink}. Без получателя события только нумеруются и доступны через ленту {@code /changes}.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig implements SchedulingConfigurer {
+
+    private static final ChangeEventSink NO_SINK = events -> { };
+
+    private final OutboxProperties properties;
+    private final ObjectProvider<ChangeEventRelay> relay;
+
+    public OutboxConfig(OutboxProperties properties, ObjectProvider<ChangeEventRelay> relay) {
+        this.properties = properties;
+        this.relay = relay;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        ChangeEventRelay task = relay.getObject();
+        registrar.addFixedDelayTask(new FixedDelayTask(task::relay, properties.getRelayInterval(), Duration.ZERO));
+        registrar.addFixedDelayTask(
+                new FixedDelayTask(task::prune, properties.getPruneInterval(), properties.getPruneInterval()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "memory")
+    public InMemoryChangeEventSink inMemoryChangeEventSink() {
+        return new InMemoryChangeEventSink(properties.getMemoryCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "file")
+    public FileChangeEventSink fileChangeEventSink(ObjectMapper objectMapper) {
+        return new FileChangeEventSink(properties.getFile(), objectMapper);
+    }
+
+    @Bean
+    public ChangeEventRelay changeEventRelay(ChangeEventRepository changeEventRepository,
+                                             ObjectProvider<ChangeEventSink> sink,
+                                             PlatformTransactionManager transactionManager) {
+        return new ChangeEventRelay(changeEventRepository, sink.getIfUnique(() -> NO_SINK),
+                transactionManager, properties);
+    }
+}
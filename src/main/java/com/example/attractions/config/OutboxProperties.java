@@ -0,0 +1,52 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Настройки исходящих событий изменений каталога ({@code app.outbox.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Пауза между публикациями накопленных событий.
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    /**
+     * Количество событий, публикуемых в одной транзакции.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Время хранения опубликованных событий. Потребитель ленты, отставший больше чем на это время,
+     * получает признак {@code resyncRequired}.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Пауза между очистками опубликованных событий.
+     */
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    /**
+     * Встроенный получатель событий: {@code none}, {@code memory} или {@code file}.
+     * Если в контексте объявлен собственный {@link com.example.attractions.outbox.ChangeEventSink}, используется он.
+     */
+    private String sink = "none";
+
+    /**
+     * Файл NDJSON для получателя {@code file}.
+     */
+    private Path file = Path.of("change-events.ndjson");
+
+    /**
+     * Количество последних событий, которые хранит получатель {@code memory}.
+     */
+    private int memoryCapacity = 10_000;
+}
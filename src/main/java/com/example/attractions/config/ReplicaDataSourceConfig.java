@@ -0,0 +1,65 @@
+package com.example.attractions.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Маршрутизация read-only транзакций на реплику.
+ * <p>
+ * Включается, если задан {@code app.datasource.replica.jdbc-url}. Основной пул настраивается
+ * свойствами {@code spring.datasource.*}, пул реплики — {@code app.datasource.replica.*}
+ * (свойства Hikari). {@link LazyConnectionDataSourceProxy} откладывает получение соединения
+ * до первого запроса: к этому моменту транзакция {@code @Transactional(readOnly = true)} уже
+ * пометила соединение как read-only, и оно берется из пула реплики.
+ * </p>
+ * <p>
+ * Реплика может отставать от основной базы, поэтому чтение сразу после записи
+ * в рамках одной операции нужно выполнять в пишущей транзакции.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Пул реплики наследует свойства драйвера основного пула (кэш prepared statements и т.п.);
+     * размер, таймауты и адрес задаются отдельно.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
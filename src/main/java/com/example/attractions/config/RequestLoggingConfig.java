@@ -0,0 +1,27 @@
+package com.example.attractions.config;
+
+import com.example.attractions.logging.RequestLoggingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Регистрация {@link RequestLoggingFilter}. Асинхронная запись журнала настраивается в {@code logback-spring.xml}.
+ */
+@Configuration
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+@ConditionalOnProperty(prefix = "app.request-logging", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(RequestLoggingProperties properties) {
+        FilterRegistrationBean<RequestLoggingFilter> registration =
+                new FilterRegistrationBean<>(new RequestLoggingFilter(properties));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
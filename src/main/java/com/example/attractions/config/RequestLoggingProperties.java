@@ -0,0 +1,29 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки журналирования HTTP-запросов ({@code app.request-logging.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.request-logging")
+public class RequestLoggingProperties {
+
+    /**
+     * Включает журналирование запросов.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Доля журналируемых запросов от 0 до 1. Ошибки сервера и медленные запросы журналируются всегда.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Порог длительности, начиная с которого запрос журналируется независимо от выборки.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,42 @@
+package com.example.attractions.config;
+
+import com.example.attractions.cache.TableVersionCompactor;
+import com.example.attractions.repository.TableVersionRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Периодическая свертка журнала изменений таблиц, из которого вычисляются версии для ETag
+ * и сброса кэша второго уровня.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(TableVersionProperties.class)
+public class TableVersionConfig implements SchedulingConfigurer {
+
+    private final TableVersionProperties properties;
+    private final ObjectProvider<TableVersionCompactor> compactor;
+
+    public TableVersionConfig(TableVersionProperties properties, ObjectProvider<TableVersionCompactor> compactor) {
+        this.properties = properties;
+        this.compactor = compactor;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        TableVersionCompactor task = compactor.getObject();
+        registrar.addFixedDelayTask(new FixedDelayTask(task::compact,
+                properties.getCompactionInterval(), properties.getCompactionInterval()));
+    }
+
+    @Bean
+    public TableVersionCompactor tableVersionCompactor(TableVersionRepository tableVersionRepository) {
+        return new TableVersionCompactor(tableVersionRepository);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.attractions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки версий таблиц каталога ({@code app.table-version.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.table-version")
+public class TableVersionProperties {
+
+    /**
+     * Пауза между свертками журнала изменений таблиц. Определяет, сколько строк журнала читается
+     * при вычислении версии для ETag и проверке кэша второго уровня.
+     */
+    private Duration compactionInterval = Duration.ofSeconds(30);
+}
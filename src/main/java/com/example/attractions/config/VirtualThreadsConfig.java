@@ -0,0 +1,63 @@
+package com.example.attractions.config;
+
+import com.example.attractions.jdbc.ConcurrencyLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Режим выполнения запросов на виртуальных потоках (Java 21).
+ * <p>
+ * Включается свойством {@code spring.threads.virtual.enabled=true}: Spring Boot переводит на виртуальные
+ * потоки исполнитель Tomcat и исполнитель асинхронных задач (в том числе потоковые ответы MVC).
+ * Здесь основной {@code dataSource} оборачивается в {@link ConcurrencyLimitingDataSource}, чтобы
+ * число одновременных обращений к базе не превышало {@code app.datasource.max-concurrency}
+ * (по умолчанию — размер пула).
+ * </p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrency = environment.getProperty("app.datasource.max-concurrency", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration acquireTimeout = Duration.ofMillis(environment.getProperty(
+                        "spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("attractions.datasource.permits.available", limited,
+                                ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .description("Free permits of the connection concurrency limit")
+                        .register(registry);
+                Gauge.builder("attractions.datasource.permits.waiting", limited,
+                                ConcurrencyLimitingDataSource::getQueueLength)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -3,11 +3,12 @@ package com.example.attractions.controller;
 import com.example.attractions.dto.AssistanceDto;
 import com.example.attractions.service.AssistanceService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Контроллер для управления услугами сопровождения.
@@ -18,10 +19,10 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/assistances")
 @RequiredArgsConstructor
-@Slf4j
 public class AssistanceController {
 
     private final AssistanceService assistanceService;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Добавляет новую услугу сопровождения.
@@ -31,34 +32,37 @@ public class AssistanceController {
      */
     @PostMapping
     public AssistanceDto addAssistance(@RequestBody AssistanceDto assistanceDto) {
-        log.info("Добавление новой услуги сопровождения: {}", assistanceDto.getType());
         return assistanceService.addAssistance(assistanceDto);
     }
 
     /**
      * Получает услугу сопровождения по ее идентификатору.
+     * Поддерживает условный запрос: при совпадении {@code If-None-Match} возвращает 304 без загрузки сущности.
      *
-     * @param id Идентификатор услуги сопровождения.
-     * @return Объект {@link AssistanceDto} с указанным идентификатором.
+     * @param id      Идентификатор услуги сопровождения.
+     * @param request Текущий запрос.
+     * @return Объект {@link AssistanceDto} с указанным идентификатором и ETag.
      * @throws com.example.attractions.exception.NotFoundException если услуга с данным ID не найдена.
      */
     @GetMapping("/{id}")
-    public AssistanceDto getAssistanceById(@PathVariable Long id) {
-        log.info("Получение услуги сопровождения по ID: {}", id);
-        return assistanceService.getAssistanceById(id);
+    public ResponseEntity<AssistanceDto> getAssistanceById(@PathVariable Long id, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, assistanceService.getAssistanceVersion(id),
+                () -> assistanceService.getAssistanceById(id));
     }
 
     /**
      * Получает список всех услуг сопровождения с поддержкой пагинации и сортировки.
+     * Поддерживает условный запрос по ETag.
      *
      * @param pageable Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
+     * @param request  Текущий запрос.
      * @return Страница {@link Page} объектов {@link AssistanceDto}.
      */
     @GetMapping
-    public Page<AssistanceDto> getAllAssistances(
-            @PageableDefault(sort = {"type"}) Pageable pageable) {
-        log.info("Получение всех услуг сопровождения");
-        return assistanceService.getAllAssistances(pageable);
+    public ResponseEntity<Page<AssistanceDto>> getAllAssistances(
+            @PageableDefault(sort = {"type"}) Pageable pageable, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, assistanceService.getAssistancesVersion(),
+                () -> assistanceService.getAllAssistances(pageable));
     }
 
     /**
@@ -73,10 +77,26 @@ public class AssistanceController {
     public AssistanceDto updateAssistance(
             @PathVariable Long id,
             @RequestBody AssistanceDto assistanceDto) {
-        log.info("Обновление услуги сопровождения с ID: {}", id);
         return assistanceService.updateAssistance(id, assistanceDto);
     }
 
+    /**
+     * Частично обновляет услугу сопровождения: изменяются только переданные поля.
+     * Тело запроса должно содержать текущую версию записи ({@code version}).
+     *
+     * @param id    Идентификатор услуги сопровождения.
+     * @param patch DTO с изменяемыми полями и версией; поля со значением {@code null} не изменяются.
+     * @return Ответ 204 без тела; заголовок {@code ETag} совпадает с ETag ответа {@code GET /assistances/{id}}.
+     * @throws com.example.attractions.exception.NotFoundException если услуга с данным ID не найдена.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась (409).
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchAssistance(
+            @PathVariable Long id,
+            @RequestBody AssistanceDto patch) {
+        return conditionalResponses.noContent(assistanceService.patchAssistance(id, patch));
+    }
+
     /**
      * Удаляет услугу сопровождения по ее идентификатору.
      *
@@ -85,7 +105,6 @@ public class AssistanceController {
      */
     @DeleteMapping("/{id}")
     public void deleteAssistance(@PathVariable Long id) {
-        log.info("Удаление услуги сопровождения с ID: {}", id);
         assistanceService.deleteAssistance(id);
     }
 }
@@ -1,13 +1,30 @@
 package com.example.attractions.controller;
 
 import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.dto.AttractionSearchResultDto;
+import com.example.attractions.dto.CursorPageDto;
+import com.example.attractions.dto.ImportReportDto;
+import com.example.attractions.dto.NearbyAttractionDto;
+import com.example.attractions.service.AttractionExportService;
+import com.example.attractions.service.AttractionExportService.ExportFormat;
+import com.example.attractions.service.AttractionImportService;
 import com.example.attractions.service.AttractionService;
+import com.example.attractions.service.AttractionService.TotalMode;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Контроллер для управления достопримечательностями.
@@ -18,10 +35,12 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/attractions")
 @RequiredArgsConstructor
-@Slf4j
 public class AttractionController {
 
     private final AttractionService attractionService;
+    private final AttractionImportService attractionImportService;
+    private final AttractionExportService attractionExportService;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Добавляет новую достопримечательность.
@@ -31,24 +50,40 @@ public class AttractionController {
      */
     @PostMapping
     public AttractionDto addAttraction(@RequestBody AttractionDto attractionDto) {
-        log.info("Добавление новой достопримечательности: {}", attractionDto.getName());
         return attractionService.addAttraction(attractionDto);
     }
 
+    /**
+     * Массово импортирует достопримечательности из NDJSON или JSON-массива.
+     * Тело запроса разбирается потоково, без буферизации целиком.
+     *
+     * @param body Поток тела запроса.
+     * @return Отчет {@link ImportReportDto} с количеством импортированных записей и ошибками по строкам.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ImportReportDto importAttractions(InputStream body) {
+        return attractionImportService.importAttractions(body);
+    }
+
     /**
      * Получает список всех достопримечательностей с опциональным фильтром по типу.
      * Поддерживает пагинацию и сортировку.
      *
      * @param type     Тип достопримечательности для фильтрации (опционально).
+     * @param total    Общее количество: {@code exact} (по умолчанию), {@code estimate} (оценка планировщика)
+     *                 или {@code none} (без количества, только признак следующей страницы).
      * @param pageable Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
-     * @return Страница {@link Page} объектов {@link AttractionDto}.
+     * @param request  Текущий запрос (условный запрос по ETag).
+     * @return Страница {@link Page} объектов {@link AttractionDto} или {@link Slice} при {@code total=none}.
      */
     @GetMapping
-    public Page<AttractionDto> getAllAttractions(
+    public ResponseEntity<Slice<AttractionDto>> getAllAttractions(
             @RequestParam(value = "type", required = false) String type,
-            @PageableDefault(sort = {"name"}) Pageable pageable) {
-        log.info("Получение всех достопримечательностей с фильтром по типу: {}", type);
-        return attractionService.getAllAttractions(type, pageable);
+            @RequestParam(value = "total", defaultValue = "exact") String total,
+            @PageableDefault(sort = {"name"}) Pageable pageable, WebRequest request) {
+        TotalMode totalMode = TotalMode.fromValue(total);
+        return conditionalResponses.ifNoneMatch(request, attractionService.getAttractionsVersion(),
+                () -> attractionService.getAllAttractions(type, pageable, totalMode));
     }
 
     /**
@@ -56,15 +91,130 @@ public class AttractionController {
      * Поддерживает пагинацию и сортировку.
      *
      * @param localityId Идентификатор местоположения.
+     * @param total      Общее количество: {@code exact} (по умолчанию), {@code estimate} или {@code none}.
      * @param pageable   Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
-     * @return Страница {@link Page} объектов {@link AttractionDto}.
+     * @param request    Текущий запрос (условный запрос по ETag).
+     * @return Страница {@link Page} объектов {@link AttractionDto} или {@link Slice} при {@code total=none}.
      */
     @GetMapping("/locality/{localityId}")
-    public Page<AttractionDto> getAttractionsByLocality(
+    public ResponseEntity<Slice<AttractionDto>> getAttractionsByLocality(
+            @PathVariable Long localityId,
+            @RequestParam(value = "total", defaultValue = "exact") String total,
+            @PageableDefault(sort = {"name"}) Pageable pageable, WebRequest request) {
+        TotalMode totalMode = TotalMode.fromValue(total);
+        return conditionalResponses.ifNoneMatch(request, attractionService.getAttractionsVersion(),
+                () -> attractionService.getAttractionsByLocality(localityId, pageable, totalMode));
+    }
+
+    /**
+     * Получает список достопримечательностей с опциональным фильтром по типу
+     * в режиме курсорной пагинации (без подсчета общего количества).
+     *
+     * @param type    Тип достопримечательности для фильтрации (опционально).
+     * @param after   Курсор {@link CursorPageDto#getNextCursor()} предыдущей страницы (опционально).
+     * @param size    Размер страницы.
+     * @param request Текущий запрос (условный запрос по ETag).
+     * @return Страница {@link CursorPageDto} объектов {@link AttractionDto}.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<AttractionDto>> getAllAttractionsAfter(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, attractionService.getAttractionsVersion(),
+                () -> attractionService.getAllAttractionsAfter(type, after, size));
+    }
+
+    /**
+     * Получает список достопримечательностей определенного местоположения
+     * в режиме курсорной пагинации (без подсчета общего количества).
+     *
+     * @param localityId Идентификатор местоположения.
+     * @param after      Курсор {@link CursorPageDto#getNextCursor()} предыдущей страницы (опционально).
+     * @param size       Размер страницы.
+     * @param request    Текущий запрос (условный запрос по ETag).
+     * @return Страница {@link CursorPageDto} объектов {@link AttractionDto}.
+     */
+    @GetMapping("/locality/{localityId}/cursor")
+    public ResponseEntity<CursorPageDto<AttractionDto>> getAttractionsByLocalityAfter(
             @PathVariable Long localityId,
-            @PageableDefault(sort = {"name"}) Pageable pageable) {
-        log.info("Получение достопримечательностей для местоположения с ID: {}", localityId);
-        return attractionService.getAttractionsByLocality(localityId, pageable);
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, attractionService.getAttractionsVersion(),
+                () -> attractionService.getAttractionsByLocalityAfter(localityId, after, size));
+    }
+
+    /**
+     * Выгружает все достопримечательности в NDJSON или CSV. Строки передаются потоково
+     * по мере чтения из базы, без пагинации и подсчета общего количества.
+     *
+     * @param format Формат выгрузки: {@code ndjson} или {@code csv}.
+     * @return Потоковое тело ответа с выгрузкой.
+     * @throws com.example.attractions.exception.BadRequestException если формат выгрузки не поддерживается.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAttractions(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        StreamingResponseBody body = output -> attractionExportService.exportAttractions(exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"attractions." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
+    /**
+     * Ищет достопримечательности рядом с точкой. Без радиуса возвращает ближайшие.
+     *
+     * @param latitude  Широта точки поиска.
+     * @param longitude Долгота точки поиска.
+     * @param radiusKm  Радиус поиска в километрах (опционально).
+     * @param type      Тип достопримечательности для фильтрации (опционально).
+     * @param limit     Максимальное количество результатов.
+     * @return Список {@link NearbyAttractionDto}, упорядоченный по расстоянию.
+     */
+    @GetMapping("/near")
+    public List<NearbyAttractionDto> getAttractionsNear(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam(value = "radiusKm", required = false) Double radiusKm,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return attractionService.getAttractionsNear(latitude, longitude, radiusKm, type, limit);
+    }
+
+    /**
+     * Ранжированный полнотекстовый поиск по достопримечательностям и их местоположениям.
+     *
+     * @param query Строка поиска.
+     * @param limit Максимальное количество результатов.
+     * @return Список {@link AttractionSearchResultDto}, упорядоченный по релевантности.
+     */
+    @GetMapping("/search")
+    public List<AttractionSearchResultDto> searchAttractions(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return attractionService.searchAttractions(query, limit);
+    }
+
+    /**
+     * Получает количество достопримечательностей по типам, регионам и типам услуг сопровождения
+     * одним запросом к базе. Все заданные фильтры применяются одновременно.
+     *
+     * @param type       Тип достопримечательности для фильтрации (опционально).
+     * @param region     Регион местоположения для фильтрации (опционально).
+     * @param assistance Тип услуги сопровождения для фильтрации (опционально).
+     * @param request    Текущий запрос (условный запрос по ETag).
+     * @return Объект {@link AttractionFacetsDto} с количеством по каждому фасету.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<AttractionFacetsDto> getAttractionFacets(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "region", required = false) String region,
+            @RequestParam(value = "assistance", required = false) String assistance, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, attractionService.getAttractionFacetsVersion(),
+                () -> attractionService.getAttractionFacets(type, region, assistance));
     }
 
     /**
@@ -79,10 +229,28 @@ public class AttractionController {
     public AttractionDto updateAttraction(
             @PathVariable Long id,
             @RequestBody AttractionDto attractionDto) {
-        log.info("Обновление достопримечательности с ID: {}", id);
         return attractionService.updateAttraction(id, attractionDto);
     }
 
+    /**
+     * Частично обновляет достопримечательность: изменяются только переданные поля.
+     * Тело запроса должно содержать текущую версию записи ({@code version}).
+     *
+     * @param id    Идентификатор достопримечательности.
+     * @param patch DTO с изменяемыми полями и версией; поля со значением {@code null} не изменяются.
+     * @return Ответ 204 без тела. ETag не возвращается: у достопримечательности нет отдельного GET-ресурса,
+     *         а ETag списков меняется и при изменениях других записей.
+     * @throws com.example.attractions.exception.NotFoundException если достопримечательность или местоположение не найдены.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась (409).
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchAttraction(
+            @PathVariable Long id,
+            @RequestBody AttractionDto patch) {
+        attractionService.patchAttraction(id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Удаляет достопримечательность по ее идентификатору.
      *
@@ -91,7 +259,6 @@ public class AttractionController {
      */
     @DeleteMapping("/{id}")
     public void deleteAttraction(@PathVariable Long id) {
-        log.info("Удаление достопримечательности с ID: {}", id);
         attractionService.deleteAttraction(id);
     }
 }
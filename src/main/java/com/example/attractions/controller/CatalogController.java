@@ -0,0 +1,59 @@
+package com.example.attractions.controller;
+
+import com.example.attractions.dto.CatalogImportReportDto;
+import com.example.attractions.service.CatalogArchiveService;
+import com.example.attractions.service.CatalogArchiveService.ArchiveFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+/**
+ * Контроллер для выгрузки и загрузки всего каталога.
+ * <p>
+ * Каталог (местоположения, услуги сопровождения и достопримечательности) передается
+ * в виде сжатого tar-архива с NDJSON-файлом на каждую таблицу.
+ * </p>
+ */
+@RestController
+@RequestMapping("/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private final CatalogArchiveService catalogArchiveService;
+
+    /**
+     * Выгружает каталог в виде сжатого архива. Архив передается потоково по мере чтения из базы.
+     *
+     * @param format Формат архива: {@code tar.gz} или {@code tar.zst}.
+     * @return Потоковое тело ответа с архивом.
+     * @throws com.example.attractions.exception.BadRequestException если формат архива не поддерживается.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(value = "format", defaultValue = "tar.gz") String format) {
+        ArchiveFormat archiveFormat = ArchiveFormat.fromExtension(format);
+        StreamingResponseBody body = output -> catalogArchiveService.exportCatalog(archiveFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"catalog." + archiveFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(archiveFormat.getMediaType()))
+                .body(body);
+    }
+
+    /**
+     * Загружает каталог из сжатого архива, ранее полученного через {@code /catalog/export}.
+     *
+     * @param body Поток тела запроса с архивом.
+     * @return Отчет {@link CatalogImportReportDto} с количеством загруженных записей.
+     * @throws com.example.attractions.exception.BadRequestException если формат архива не поддерживается.
+     */
+    @PostMapping("/import")
+    public CatalogImportReportDto importCatalog(InputStream body) {
+        return catalogArchiveService.importCatalog(body);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.attractions.controller;
+
+import com.example.attractions.dto.ChangeFeedDto;
+import com.example.attractions.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Контроллер ленты изменений каталога для инкрементальной синхронизации внешних систем.
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Возвращает события изменений с номерами больше {@code since} в порядке номеров.
+     * Следующий запрос выполняется с {@code since}, равным полю {@code next} ответа.
+     *
+     * @param since Номер последнего обработанного события; {@code 0} — с начала ленты.
+     * @param limit Максимальное количество событий в ответе.
+     * @return Порция ленты {@link ChangeFeedDto}.
+     * @throws com.example.attractions.exception.BadRequestException если {@code since} отрицательный.
+     */
+    @GetMapping
+    public ChangeFeedDto getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return changeFeedService.getChanges(since, limit);
+    }
+}
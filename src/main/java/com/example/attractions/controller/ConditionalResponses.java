@@ -0,0 +1,67 @@
+package com.example.attractions.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Ответы на условные GET-запросы по версии ресурса.
+ * <p>
+ * ETag строится из версии, полученной легким запросом, а не из тела ответа. Если {@code If-None-Match}
+ * совпадает с текущим ETag, возвращается 304 без построения тела; иначе тело строится поставщиком.
+ * Оба ответа содержат ETag, {@code Cache-Control} и {@code Vary: Accept}: представление выбирается по формату
+ * (JSON, CBOR, Smile), и общий кэш не должен отдавать один формат клиенту, запросившему другой.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+    private final CacheControl cacheControl;
+
+    public <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String version, Supplier<T> body) {
+        ETag etag = new ETag(version, true);
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.formattedTag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag.formattedTag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+
+    /**
+     * Ответ 204 на изменение ресурса с ETag той же версии и в том же виде, что и у ответа GET, чтобы клиент
+     * мог сразу отправить его в {@code If-None-Match}.
+     *
+     * @param version Версия ресурса после изменения (та же, что передается в {@link #ifNoneMatch}).
+     */
+    public ResponseEntity<Void> noContent(String version) {
+        return ResponseEntity.noContent().eTag(new ETag(version, true).formattedTag()).build();
+    }
+
+    // Слабое сравнение (RFC 9110, 13.1.2): признак W/ не учитывается.
+    private static boolean matches(String[] ifNoneMatch, ETag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (ETag candidate : ETag.parse(header)) {
+                if (candidate.isWildcard() || candidate.tag().equals(etag.tag())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.attractions.controller;
 
+import com.example.attractions.dto.BatchResultDto;
 import com.example.attractions.dto.LocalityDto;
 import com.example.attractions.service.LocalityService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * Контроллер для управления местоположениями.
@@ -18,10 +22,10 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/localities")
 @RequiredArgsConstructor
-@Slf4j
 public class LocalityController {
 
     private final LocalityService localityService;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Добавляет новое местоположение.
@@ -31,34 +35,50 @@ public class LocalityController {
      */
     @PostMapping
     public LocalityDto addLocality(@RequestBody LocalityDto localityDto) {
-        log.info("Добавление нового местоположения: {}", localityDto.getName());
         return localityService.addLocality(localityDto);
     }
 
+    /**
+     * Создает и обновляет местоположения пакетом: элементы без идентификатора создаются,
+     * с идентификатором — обновляются.
+     *
+     * @param localities Список DTO местоположений.
+     * @return Отчет {@link BatchResultDto} с результатом по каждому элементу в исходном порядке.
+     * @throws com.example.attractions.exception.BadRequestException если размер пакета превышает допустимый.
+     */
+    @PostMapping("/batch")
+    public BatchResultDto saveLocalities(@RequestBody List<LocalityDto> localities) {
+        return localityService.saveLocalities(localities);
+    }
+
     /**
      * Получает местоположение по его идентификатору.
+     * Поддерживает условный запрос: при совпадении {@code If-None-Match} возвращает 304 без загрузки сущности.
      *
-     * @param id Идентификатор местоположения.
-     * @return Объект {@link LocalityDto} с указанным идентификатором.
+     * @param id      Идентификатор местоположения.
+     * @param request Текущий запрос.
+     * @return Объект {@link LocalityDto} с указанным идентификатором и ETag.
      * @throws com.example.attractions.exception.NotFoundException если местоположение с данным ID не найдено.
      */
     @GetMapping("/{id}")
-    public LocalityDto getLocalityById(@PathVariable Long id) {
-        log.info("Получение местоположения по ID: {}", id);
-        return localityService.getLocalityById(id);
+    public ResponseEntity<LocalityDto> getLocalityById(@PathVariable Long id, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, localityService.getLocalityVersion(id),
+                () -> localityService.getLocalityById(id));
     }
 
     /**
      * Получает список всех местоположений с поддержкой пагинации и сортировки.
+     * Поддерживает условный запрос по ETag.
      *
      * @param pageable Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
+     * @param request  Текущий запрос.
      * @return Страница {@link Page} объектов {@link LocalityDto}.
      */
     @GetMapping
-    public Page<LocalityDto> getAllLocalities(
-            @PageableDefault(sort = {"name"}) Pageable pageable) {
-        log.info("Получение всех местоположений");
-        return localityService.getAllLocalities(pageable);
+    public ResponseEntity<Page<LocalityDto>> getAllLocalities(
+            @PageableDefault(sort = {"name"}) Pageable pageable, WebRequest request) {
+        return conditionalResponses.ifNoneMatch(request, localityService.getLocalitiesVersion(),
+                () -> localityService.getAllLocalities(pageable));
     }
 
     /**
@@ -73,10 +93,26 @@ public class LocalityController {
     public LocalityDto updateLocality(
             @PathVariable Long id,
             @RequestBody LocalityDto localityDto) {
-        log.info("Обновление местоположения с ID: {}", id);
         return localityService.updateLocality(id, localityDto);
     }
 
+    /**
+     * Частично обновляет местоположение: изменяются только переданные поля.
+     * Тело запроса должно содержать текущую версию записи ({@code version}).
+     *
+     * @param id    Идентификатор местоположения.
+     * @param patch DTO с изменяемыми полями и версией; поля со значением {@code null} не изменяются.
+     * @return Ответ 204 без тела; заголовок {@code ETag} совпадает с ETag ответа {@code GET /localities/{id}}.
+     * @throws com.example.attractions.exception.NotFoundException если местоположение с данным ID не найдено.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась (409).
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchLocality(
+            @PathVariable Long id,
+            @RequestBody LocalityDto patch) {
+        return conditionalResponses.noContent(localityService.patchLocality(id, patch));
+    }
+
     /**
      * Удаляет местоположение по его идентификатору.
      *
@@ -85,7 +121,6 @@ public class LocalityController {
      */
     @DeleteMapping("/{id}")
     public void deleteLocality(@PathVariable Long id) {
-        log.info("Удаление местоположения с ID: {}", id);
         localityService.deleteLocality(id);
     }
 }
@@ -21,4 +21,6 @@ public class AssistanceDto {
     private String executor;
 
     private List<Long> attractionIds;
+
+    private Long version;
 }
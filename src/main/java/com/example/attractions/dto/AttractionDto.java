@@ -29,4 +29,6 @@ public class AttractionDto {
     private Long localityId;
 
     private List<Long> assistanceIds;
+
+    private Long version;
 }
@@ -0,0 +1,29 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO количества достопримечательностей в разрезе типа, региона и типа услуги сопровождения.
+ * <p>
+ * Для типов достопримечательностей и услуг присутствуют все значения перечислений (в том числе с нулевым
+ * количеством), регионы — только встречающиеся, по убыванию количества. Достопримечательность с несколькими
+ * услугами одного типа учитывается в {@code assistances} один раз.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttractionFacetsDto {
+
+    private long total;
+
+    private Map<String, Long> types;
+
+    private Map<String, Long> regions;
+
+    private Map<String, Long> assistances;
+}
@@ -0,0 +1,18 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO результата полнотекстового поиска достопримечательностей.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttractionSearchResultDto {
+
+    private AttractionDto attraction;
+
+    private double rank;
+}
@@ -0,0 +1,31 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO результата пакетной записи отдельного элемента.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String error;
+
+    /**
+     * Результат записи элемента.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.attractions.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO отчета о пакетной записи. Список {@code items} содержит по одному результату
+ * на каждый элемент запроса в исходном порядке.
+ */
+@Data
+public class BatchResultDto {
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    private List<BatchItemResultDto> items;
+}
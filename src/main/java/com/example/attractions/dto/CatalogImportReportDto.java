@@ -0,0 +1,16 @@
+package com.example.attractions.dto;
+
+import lombok.Data;
+
+/**
+ * DTO отчета об импорте архива каталога.
+ */
+@Data
+public class CatalogImportReportDto {
+
+    private long localities;
+
+    private long assistances;
+
+    private long attractions;
+}
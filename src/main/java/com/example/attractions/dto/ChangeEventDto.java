@@ -0,0 +1,56 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO события изменения сущности каталога из ленты {@code /changes}.
+ * <p>
+ * Событие содержит только ссылку на измененную запись и ее версию после изменения; актуальное
+ * состояние потребитель получает по идентификатору.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto {
+
+    /**
+     * Порядковый номер события в ленте. Номера возрастают, но могут идти с пропусками.
+     */
+    private long seq;
+
+    private EntityType entityType;
+
+    private Long entityId;
+
+    private Operation operation;
+
+    /**
+     * Версия записи после изменения; для удаления не заполняется.
+     */
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Тип измененной сущности.
+     */
+    public enum EntityType {
+        ATTRACTION,
+        LOCALITY,
+        ASSISTANCE
+    }
+
+    /**
+     * Вид изменения.
+     */
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO порции ленты изменений каталога.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDto {
+
+    private List<ChangeEventDto> events;
+
+    /**
+     * Значение параметра {@code since} для следующего запроса: номер последнего события порции
+     * или переданный {@code since}, если новых событий нет.
+     */
+    private long next;
+
+    private boolean hasMore;
+
+    /**
+     * События после переданного {@code since} уже удалены из ленты; потребителю нужно заново прочитать
+     * каталог целиком и продолжить с {@link #next}.
+     */
+    private boolean resyncRequired;
+}
@@ -0,0 +1,30 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO для страницы с курсорной (keyset) пагинацией.
+ * <p>
+ * В отличие от {@link org.springframework.data.domain.Page} не содержит общего количества
+ * элементов, поэтому для его построения не выполняется запрос {@code count(*)}.
+ * </p>
+ *
+ * @param <T> тип элементов страницы.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+}
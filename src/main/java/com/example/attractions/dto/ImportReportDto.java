@@ -0,0 +1,44 @@
+package com.example.attractions.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO отчета о массовом импорте.
+ * <p>
+ * Список ошибок ограничен {@link #MAX_ERRORS} записями, чтобы размер отчета
+ * не зависел от объема входных данных; счетчик {@code failed} при этом остается точным.
+ * </p>
+ */
+@Data
+public class ImportReportDto {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private long total;
+
+    private long imported;
+
+    private long failed;
+
+    private boolean errorsTruncated;
+
+    private List<ImportErrorDto> errors = new ArrayList<>();
+
+    /**
+     * Регистрирует ошибку импорта записи.
+     *
+     * @param row     Порядковый номер записи во входных данных (начиная с 1).
+     * @param message Описание ошибки.
+     */
+    public void addError(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportErrorDto(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+}
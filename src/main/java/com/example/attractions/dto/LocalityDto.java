@@ -27,4 +27,6 @@ public class LocalityDto {
     private List<Long> attractionIds;
 
     private List<Long> assistanceIds;
+
+    private Long version;
 }
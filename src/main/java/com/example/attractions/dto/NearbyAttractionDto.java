@@ -0,0 +1,18 @@
+package com.example.attractions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO результата поиска достопримечательностей рядом с точкой.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyAttractionDto {
+
+    private AttractionDto attraction;
+
+    private double distanceKm;
+}
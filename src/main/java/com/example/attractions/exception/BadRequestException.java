@@ -0,0 +1,16 @@
+package com.example.attractions.exception;
+
+/**
+ * Исключение, выбрасываемое при некорректных параметрах запроса. Сообщение возвращается клиенту,
+ * поэтому должно описывать ошибку запроса, а не внутреннее состояние.
+ */
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
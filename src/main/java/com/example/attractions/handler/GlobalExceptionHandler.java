@@ -1,23 +1,43 @@
 package com.example.attractions.handler;
 
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.nio.charset.StandardCharsets;
+
 /**
- * Глобальный обработчик исключений.
+ * Глобальный обработчик исключений. Сообщения об ошибках возвращаются как {@code text/plain}
+ * независимо от запрошенного формата ответа.
  */
 
 @ControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<String> handleNotFoundException(NotFoundException ex) {
         log.error("Ошибка: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(TEXT_PLAIN_UTF8).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequestException(BadRequestException ex) {
+        log.error("Некорректный запрос: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(TEXT_PLAIN_UTF8).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Конфликт версий: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(TEXT_PLAIN_UTF8).body(ex.getMessage());
     }
 }
\ No newline at end of file
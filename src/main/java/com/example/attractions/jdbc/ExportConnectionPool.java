@@ -0,0 +1,49 @@
+package com.example.attractions.jdbc;
+
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Отдельный небольшой пул соединений для потоковых выгрузок.
+ * <p>
+ * Выгрузка держит соединение, пока клиент читает ответ (до {@code spring.mvc.async.request-timeout}),
+ * поэтому она не занимает соединения основного пула и не попадает под его проверку утечек
+ * ({@code leak-detection-threshold}). Пул не является бином {@link javax.sql.DataSource}, чтобы не отключать
+ * автоконфигурацию основного источника данных; соединения открываются при первой выгрузке.
+ * </p>
+ */
+public class ExportConnectionPool implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportConnectionPool(HikariConfig config) {
+        dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        catalogJdbcRepository = new CatalogJdbcRepository(new JdbcTemplate(dataSource));
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Выполняет чтение в read-only транзакции на соединении пула выгрузок.
+     *
+     * @param action Действие с репозиторием, привязанным к пулу выгрузок; методы {@code stream*}
+     *               читают серверным курсором в этой транзакции.
+     */
+    public void readOnly(Consumer<CatalogJdbcRepository> action) {
+        readOnlyTransaction.executeWithoutResult(status -> action.accept(catalogJdbcRepository));
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
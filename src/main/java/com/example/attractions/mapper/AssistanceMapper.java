@@ -23,6 +23,7 @@ public interface AssistanceMapper {
     AssistanceDto toDto(Assistance assistance);
 
     @Mapping(target = "attractions", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "type", source = "type", qualifiedByName = "mapStringToType")
     Assistance toEntity(AssistanceDto dto);
 
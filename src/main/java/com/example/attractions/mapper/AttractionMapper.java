@@ -22,9 +22,19 @@ public interface AttractionMapper {
     @Mapping(target = "type", source = "type", qualifiedByName = "mapTypeToString")
     AttractionDto toDto(Attraction attraction);
 
+    /**
+     * Преобразует сущность в DTO, используя заранее загруженные идентификаторы услуг
+     * вместо ленивой загрузки коллекции {@code assistanceList}.
+     */
+    @Mapping(source = "attraction.locality.id", target = "localityId")
+    @Mapping(target = "assistanceIds", source = "assistanceIds")
+    @Mapping(target = "type", source = "attraction.type", qualifiedByName = "mapTypeToString")
+    AttractionDto toDto(Attraction attraction, List<Long> assistanceIds);
+
     @Mapping(target = "assistanceList", ignore = true)
     @Mapping(target = "type", source = "type", qualifiedByName = "mapStringToType")
     @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Attraction toEntity(AttractionDto dto);
 
     @Named("mapAssistanceIds")
@@ -22,8 +22,17 @@ public interface LocalityMapper {
     @Mapping(target = "assistanceIds", source = "assistanceList", qualifiedByName = "mapAssistanceIds")
     LocalityDto toDto(Locality locality);
 
+    /**
+     * Преобразует сущность в DTO, используя заранее загруженные идентификаторы
+     * вместо ленивой загрузки коллекций {@code attractions} и {@code assistanceList}.
+     */
+    @Mapping(target = "attractionIds", source = "attractionIds")
+    @Mapping(target = "assistanceIds", source = "assistanceIds")
+    LocalityDto toDto(Locality locality, List<Long> attractionIds, List<Long> assistanceIds);
+
     @Mapping(target = "attractions", ignore = true)
     @Mapping(target = "assistanceList", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Locality toEntity(LocalityDto dto);
 
     @Named("mapAttractionIds")
@@ -0,0 +1,30 @@
+package com.example.attractions.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Подсчитывает SQL-запросы Hibernate, выполненные в текущем потоке.
+ * <p>
+ * Счетчик сбрасывается и считывается {@link StatementCountFilter} на границах HTTP-запроса, поэтому
+ * учитываются только запросы, выполненные в потоке HTTP-запроса. Запросы через {@code JdbcTemplate}
+ * не учитываются.
+ * </p>
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    static int current() {
+        return COUNTER.get()[0];
+    }
+}
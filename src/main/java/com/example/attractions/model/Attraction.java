@@ -16,7 +16,8 @@ import java.util.List;
 @Entity
 public class Attraction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attraction_seq")
+    @SequenceGenerator(name = "attraction_seq", sequenceName = "attraction_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -35,10 +36,13 @@ public class Attraction {
     private AttractionType type;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "locality_id", nullable = false)
     private Locality locality;
 
+    @Version
+    private Long version;
+
     @ManyToMany
     @JoinTable(
             name = "attraction_assistance",
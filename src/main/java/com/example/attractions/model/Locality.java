@@ -3,6 +3,9 @@ package com.example.attractions.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.List;
 
 /**
@@ -10,9 +13,12 @@ import java.util.List;
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Locality {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locality_seq")
+    @SequenceGenerator(name = "locality_seq", sequenceName = "locality_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -27,10 +33,14 @@ public class Locality {
     private Double longitude;
     private String shortDescription;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "locality")
     private List<Attraction> attractions;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "locality_assistance",
             joinColumns = @JoinColumn(name = "locality_id"),
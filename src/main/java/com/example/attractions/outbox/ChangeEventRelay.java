@@ -0,0 +1,78 @@
+package com.example.attractions.outbox;
+
+import com.example.attractions.config.OutboxProperties;
+import com.example.attractions.dto.ChangeEventDto;
+import com.example.attractions.repository.ChangeEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Ретранслятор исходящих событий: присваивает неопубликованным событиям порядковые номера и передает их
+ * в {@link ChangeEventSink}.
+ * <p>
+ * Каждая порция публикуется в отдельной транзакции под advisory-блокировкой: при нескольких экземплярах
+ * приложения порцию публикует только один из них, остальные пропускают шаг. Если получатель выбрасывает
+ * исключение, транзакция откатывается и порция передается повторно на следующем шаге.
+ * </p>
+ */
+@Slf4j
+public class ChangeEventRelay {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventSink sink;
+    private final TransactionTemplate transaction;
+    private final OutboxProperties properties;
+
+    public ChangeEventRelay(ChangeEventRepository changeEventRepository, ChangeEventSink sink,
+                            PlatformTransactionManager transactionManager, OutboxProperties properties) {
+        this.changeEventRepository = changeEventRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Публикует накопленные события порциями по {@code batch-size}, пока очередь не опустеет.
+     */
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось опубликовать события изменений: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Удаляет опубликованные события старше {@code retention}.
+     */
+    public void prune() {
+        try {
+            int deleted = changeEventRepository.deletePublishedOlderThan(properties.getRetention());
+            log.debug("Удалено опубликованных событий изменений: {}", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось очистить события изменений: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        Integer published = transaction.execute(status -> {
+            if (!changeEventRepository.tryLockRelay()) {
+                return 0;
+            }
+            List<ChangeEventDto> events = changeEventRepository.publishPending(properties.getBatchSize());
+            if (!events.isEmpty()) {
+                sink.publish(events);
+                log.debug("Опубликовано событий изменений: {}, последний номер {}",
+                        events.size(), events.get(events.size() - 1).getSeq());
+            }
+            return events.size();
+        });
+        return published != null ? published : 0;
+    }
+}
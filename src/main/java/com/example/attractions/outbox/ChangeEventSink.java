@@ -0,0 +1,22 @@
+package com.example.attractions.outbox;
+
+import com.example.attractions.dto.ChangeEventDto;
+
+import java.util.List;
+
+/**
+ * Получатель опубликованных событий изменений каталога (индекс поиска, очистка CDN, партнерские выгрузки).
+ * <p>
+ * Вызывается ретранслятором в транзакции публикации: если метод выбрасывает исключение, номера событиям
+ * не присваиваются и порция будет передана повторно. Доставка — не менее одного раза, поэтому получатель
+ * должен устранять повторы по {@link ChangeEventDto#getSeq()}.
+ * </p>
+ */
+@FunctionalInterface
+public interface ChangeEventSink {
+
+    /**
+     * Передает порцию событий в порядке номеров.
+     */
+    void publish(List<ChangeEventDto> events);
+}
@@ -0,0 +1,41 @@
+package com.example.attractions.outbox;
+
+import com.example.attractions.dto.ChangeEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Дописывает опубликованные события в локальный файл в формате NDJSON, по одному событию в строке.
+ */
+public class FileChangeEventSink implements ChangeEventSink {
+
+    private final Path file;
+    private final ObjectWriter writer;
+
+    public FileChangeEventSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(ChangeEventDto.class);
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEventDto> events) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ChangeEventDto event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
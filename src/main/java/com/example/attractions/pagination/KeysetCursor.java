@@ -0,0 +1,54 @@
+package com.example.attractions.pagination;
+
+import com.example.attractions.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция курсора для keyset-пагинации по паре {@code (name, id)}.
+ * <p>
+ * Клиенту передается в виде непрозрачной строки (Base64url), содержащей
+ * ключ сортировки последнего элемента предыдущей страницы.
+ * </p>
+ */
+@Value
+public class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    String name;
+    Long id;
+
+    /**
+     * Кодирует позицию курсора в непрозрачный токен.
+     *
+     * @return Строка токена для параметра {@code after}.
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает токен, полученный от клиента.
+     *
+     * @param token Токен из параметра {@code after}.
+     * @return Позиция курсора.
+     * @throws BadRequestException если токен поврежден.
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            Long id = Long.valueOf(raw.substring(0, separatorIndex));
+            return new KeysetCursor(raw.substring(separatorIndex + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.example.attractions.repository;
 
 import com.example.attractions.model.Assistance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Репозиторий для управления сущностями Assistance.
  */
 
 @Repository
 public interface AssistanceRepository extends JpaRepository<Assistance, Long> {
+
+    @Query("select s.id from Assistance s where s.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.version from Assistance s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.attractions.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JDBC-репозиторий ленты изменений достопримечательностей ({@code attraction_change}).
+ * <p>
+ * Строки ленты записываются триггерами на {@code attraction} и {@code attraction_assistance} вместе с номером
+ * транзакции. Лента читается диапазонами номеров транзакций между двумя границами {@link #currentWatermark()}:
+ * все транзакции с номером ниже границы к моменту чтения уже завершены, поэтому изменения не пропускаются,
+ * даже если транзакции фиксируются не в порядке номеров.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class AttractionChangeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Возвращает наименьший номер транзакции, активной в снимке текущей транзакции.
+     * Для согласованности с читаемыми данными вызывается в той же транзакции REPEATABLE READ.
+     */
+    public long currentWatermark() {
+        Long watermark = jdbcTemplate.queryForObject("SELECT txid_snapshot_xmin(txid_current_snapshot())", Long.class);
+        return watermark != null ? watermark : 0;
+    }
+
+    /**
+     * Возвращает идентификаторы достопримечательностей, измененных транзакциями с номерами в диапазоне {@code [from, to)}.
+     */
+    public Set<Long> findChangedIds(long from, long to) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT attraction_id FROM attraction_change WHERE tx_id >= ? AND tx_id < ?",
+                Long.class, from, to));
+    }
+
+    public int deleteOlderThan(Duration retention) {
+        return jdbcTemplate.update(
+                "DELETE FROM attraction_change WHERE changed_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 second'",
+                retention.toSeconds());
+    }
+}
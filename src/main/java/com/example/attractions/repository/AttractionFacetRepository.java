@@ -0,0 +1,111 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.model.AssistanceType;
+import com.example.attractions.model.AttractionType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-репозиторий количества достопримечательностей по фасетам.
+ * <p>
+ * Все фасеты считаются одним запросом: отфильтрованные достопримечательности выбираются один раз
+ * в CTE, а группировки по типу, региону и типу услуги объединяются через {@code UNION ALL}.
+ * Услуги присоединяются только в своей ветке, поэтому связи «многие ко многим» не размножают
+ * строки остальных фасетов.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class AttractionFacetRepository {
+
+    private static final String FACET_TOTAL = "total";
+    private static final String FACET_TYPE = "type";
+    private static final String FACET_REGION = "region";
+    private static final String FACET_ASSISTANCE = "assistance";
+
+    private static final String SELECT_FILTERED = """
+            WITH f AS (
+                SELECT a.id, a.type, l.region
+                  FROM attraction a
+                  JOIN locality l ON l.id = a.locality_id
+                 WHERE %s
+            )
+            """;
+
+    private static final String SELECT_FACETS = """
+            SELECT 'total' AS facet, NULL AS facet_value, COUNT(*) AS cnt FROM f
+            UNION ALL
+            SELECT 'type', f.type, COUNT(*) FROM f GROUP BY f.type
+            UNION ALL
+            SELECT 'region', f.region, COUNT(*) FROM f GROUP BY f.region
+            UNION ALL
+            SELECT 'assistance', s.type, COUNT(DISTINCT f.id)
+              FROM f
+              JOIN attraction_assistance aa ON aa.attraction_id = f.id
+              JOIN assistance s ON s.id = aa.assistance_id
+             GROUP BY s.type
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Считает фасеты по достопримечательностям, удовлетворяющим всем заданным условиям.
+     *
+     * @param type       Тип достопримечательности (опционально).
+     * @param region     Регион местоположения (опционально).
+     * @param assistance Тип услуги сопровождения, которая должна быть у достопримечательности (опционально).
+     */
+    public AttractionFacetsDto countFacets(AttractionType type, String region, AssistanceType assistance) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (type != null) {
+            conditions.add("a.type = ?");
+            args.add(type.name());
+        }
+        if (region != null) {
+            conditions.add("l.region = ?");
+            args.add(region);
+        }
+        if (assistance != null) {
+            conditions.add("""
+                    EXISTS (SELECT 1 FROM attraction_assistance aa JOIN assistance s ON s.id = aa.assistance_id
+                             WHERE aa.attraction_id = a.id AND s.type = ?)""");
+            args.add(assistance.name());
+        }
+        String where = conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions);
+
+        AttractionFacetsDto facets = new AttractionFacetsDto(0, enumCounts(AttractionType.values()),
+                new LinkedHashMap<>(), enumCounts(AssistanceType.values()));
+        jdbcTemplate.query(SELECT_FILTERED.formatted(where) + SELECT_FACETS + " ORDER BY facet, cnt DESC, facet_value",
+                (RowCallbackHandler) rs -> {
+                    String value = rs.getString("facet_value");
+                    long count = rs.getLong("cnt");
+                    switch (rs.getString("facet")) {
+                        case FACET_TOTAL -> facets.setTotal(count);
+                        case FACET_TYPE -> facets.getTypes().put(value, count);
+                        case FACET_REGION -> facets.getRegions().put(value, count);
+                        case FACET_ASSISTANCE -> facets.getAssistances().put(value, count);
+                        default -> { }
+                    }
+                }, args.toArray());
+        return facets;
+    }
+
+    private static Map<String, Long> enumCounts(Enum<?>[] values) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            counts.put(value.name(), 0L);
+        }
+        return counts;
+    }
+}
@@ -2,9 +2,22 @@ package com.example.attractions.repository;
 
 import com.example.attractions.model.Attraction;
 import com.example.attractions.model.AttractionType;
+import com.example.attractions.repository.projection.IdLink;
+import com.example.attractions.repository.projection.NearbyId;
+import com.example.attractions.repository.projection.RankedId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Репозиторий для управления сущностями Attraction.
@@ -13,5 +26,120 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface AttractionRepository extends JpaRepository<Attraction, Long> {
     Page<Attraction> findByLocalityId(Long localityId, Pageable pageable);
 
-    Page<Attraction> findAllByType(AttractionType type, Pageable pageable);
+    // Срезы без подсчета: читается на одну строку больше размера страницы, чтобы определить наличие следующей.
+    Slice<Attraction> findSliceBy(Pageable pageable);
+
+    Slice<Attraction> findSliceByType(AttractionType type, Pageable pageable);
+
+    Slice<Attraction> findSliceByLocalityId(Long localityId, Pageable pageable);
+
+    List<Attraction> findByType(AttractionType type, Pageable pageable);
+
+    // Результат кэшируется в кэше запросов Hibernate до изменения таблицы attraction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByType(AttractionType type);
+
+    @Query("select a.id as ownerId, s.id as linkedId from Attraction a join a.assistanceList s where a.id in :ids")
+    List<IdLink> findAssistanceLinks(@Param("ids") Collection<Long> attractionIds);
+
+    // Keyset-пагинация по (name, id): условие "name >= :name" дает диапазонное сканирование индекса.
+    @Query("select a from Attraction a order by a.name, a.id")
+    List<Attraction> findFirstKeysetPage(Limit limit);
+
+    @Query("select a from Attraction a " +
+            "where a.name >= :name and (a.name > :name or a.id > :id) " +
+            "order by a.name, a.id")
+    List<Attraction> findKeysetPageAfter(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    @Query("select a from Attraction a where a.type = :type order by a.name, a.id")
+    List<Attraction> findFirstKeysetPageByType(@Param("type") AttractionType type, Limit limit);
+
+    @Query("select a from Attraction a " +
+            "where a.type = :type and a.name >= :name and (a.name > :name or a.id > :id) " +
+            "order by a.name, a.id")
+    List<Attraction> findKeysetPageByTypeAfter(@Param("type") AttractionType type,
+                                               @Param("name") String name,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    @Query("select a from Attraction a where a.locality.id = :localityId order by a.name, a.id")
+    List<Attraction> findFirstKeysetPageByLocalityId(@Param("localityId") Long localityId, Limit limit);
+
+    @Query("select a from Attraction a " +
+            "where a.locality.id = :localityId and a.name >= :name and (a.name > :name or a.id > :id) " +
+            "order by a.name, a.id")
+    List<Attraction> findKeysetPageByLocalityIdAfter(@Param("localityId") Long localityId,
+                                                     @Param("name") String name,
+                                                     @Param("id") Long id,
+                                                     Limit limit);
+
+    // Пространственный поиск по координатам местоположения: earth_box отбирает кандидатов по GiST-индексу
+    // idx_locality_earth, оператор "<->" упорядочивает их по индексу (KNN).
+    @Query(value = """
+            SELECT a.id AS id,
+                   earth_distance(ll_to_earth(l.latitude, l.longitude), ll_to_earth(:lat, :lon)) / 1000 AS distanceKm
+              FROM locality l
+              JOIN attraction a ON a.locality_id = l.id
+             WHERE earth_box(ll_to_earth(:lat, :lon), :radiusMeters) @> ll_to_earth(l.latitude, l.longitude)
+               AND earth_distance(ll_to_earth(l.latitude, l.longitude), ll_to_earth(:lat, :lon)) <= :radiusMeters
+               AND (CAST(:type AS text) IS NULL OR a.type = CAST(:type AS text))
+             ORDER BY ll_to_earth(l.latitude, l.longitude) <-> ll_to_earth(:lat, :lon)
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<NearbyId> findWithinRadius(@Param("lat") double latitude,
+                                    @Param("lon") double longitude,
+                                    @Param("radiusMeters") double radiusMeters,
+                                    @Param("type") String type,
+                                    @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT a.id AS id,
+                   earth_distance(ll_to_earth(l.latitude, l.longitude), ll_to_earth(:lat, :lon)) / 1000 AS distanceKm
+              FROM locality l
+              JOIN attraction a ON a.locality_id = l.id
+             WHERE ll_to_earth(l.latitude, l.longitude) IS NOT NULL
+               AND (CAST(:type AS text) IS NULL OR a.type = CAST(:type AS text))
+             ORDER BY ll_to_earth(l.latitude, l.longitude) <-> ll_to_earth(:lat, :lon)
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<NearbyId> findNearest(@Param("lat") double latitude,
+                               @Param("lon") double longitude,
+                               @Param("type") String type,
+                               @Param("limit") int limit);
+
+    // Полнотекстовый поиск: кандидаты отбираются по GIN-индексам (tsvector и триграммы) отдельными ветками UNION,
+    // чтобы каждая ветка использовала свой индекс; ранжируются только найденные строки.
+    // Столбец attraction.name имеет правило сортировки "C", а триграммный индекс и сравнение без учета регистра
+    // (в том числе кириллицы) — правило базы, поэтому в условиях по названию указан COLLATE "default".
+    // Ветка по местоположению ограничена :limit строками с наибольшим итоговым рангом: иначе в UNION попадают
+    // все достопримечательности найденных местоположений. Строки, найденные другими ветками, не теряются.
+    @Query(value = """
+            WITH q AS (SELECT websearch_to_tsquery('russian', :query) AS ts),
+            matched AS (
+                SELECT a.id FROM attraction a, q WHERE a.search_vector @@ q.ts
+                UNION
+                SELECT a.id
+                  FROM attraction a
+                 WHERE a.name COLLATE "default" % :query OR a.name COLLATE "default" ILIKE :prefix
+                UNION
+                (SELECT a.id
+                   FROM locality l
+                   JOIN attraction a ON a.locality_id = l.id, q
+                  WHERE l.search_vector @@ q.ts OR l.name % :query OR l.name ILIKE :prefix
+                  ORDER BY ts_rank_cd(a.search_vector, q.ts)
+                               + 0.5 * ts_rank_cd(l.search_vector, q.ts)
+                               + similarity(a.name, :query) DESC, a.id
+                  LIMIT :limit)
+            )
+            SELECT a.id AS id,
+                   ts_rank_cd(a.search_vector, q.ts)
+                       + 0.5 * ts_rank_cd(l.search_vector, q.ts)
+                       + similarity(a.name, :query) AS rank
+              FROM matched m
+              JOIN attraction a ON a.id = m.id
+              JOIN locality l ON l.id = a.locality_id, q
+             ORDER BY rank DESC, a.id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<RankedId> search(@Param("query") String query, @Param("prefix") String prefix, @Param("limit") int limit);
 }
@@ -0,0 +1,295 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.model.AssistanceType;
+import com.example.attractions.model.AttractionType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC-репозиторий для потоковой выгрузки и пакетной загрузки каталога.
+ * <p>
+ * Чтение выполняется серверным курсором с ограниченным {@link #FETCH_SIZE}, поэтому методы
+ * {@code stream*} должны вызываться внутри транзакции (PostgreSQL использует курсор только
+ * при выключенном autocommit). Идентификаторы связанных сущностей собираются в SQL.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class CatalogJdbcRepository {
+
+    public static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_LOCALITIES = """
+            SELECT l.id, l.name, l.region, l.latitude, l.longitude, l.short_description, l.version,
+                   (SELECT array_agg(la.assistance_id ORDER BY la.assistance_id)
+                      FROM locality_assistance la WHERE la.locality_id = l.id) AS assistance_ids
+              FROM locality l
+             ORDER BY l.id
+            """;
+
+    private static final String SELECT_ASSISTANCES = """
+            SELECT s.id, s.type, s.short_description, s.executor, s.version
+              FROM assistance s
+             ORDER BY s.id
+            """;
+
+    private static final String SELECT_ATTRACTION_ROWS = """
+            SELECT a.id, a.name, a.creation_date, a.short_description, a.type, a.locality_id, a.version,
+                   (SELECT array_agg(aa.assistance_id ORDER BY aa.assistance_id)
+                      FROM attraction_assistance aa WHERE aa.attraction_id = a.id) AS assistance_ids
+              FROM attraction a
+            """;
+
+    private static final String SELECT_ATTRACTIONS = SELECT_ATTRACTION_ROWS + " ORDER BY a.id";
+
+    private static final String SELECT_ATTRACTIONS_BY_IDS = SELECT_ATTRACTION_ROWS + " WHERE a.id = ANY (?)";
+
+    private static final String UPSERT_LOCALITY = """
+            INSERT INTO locality (id, name, region, latitude, longitude, short_description)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, region = EXCLUDED.region,
+                latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude,
+                short_description = EXCLUDED.short_description, version = locality.version + 1
+            """;
+
+    private static final String UPSERT_ASSISTANCE = """
+            INSERT INTO assistance (id, type, short_description, executor)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET type = EXCLUDED.type,
+                short_description = EXCLUDED.short_description, executor = EXCLUDED.executor,
+                version = assistance.version + 1
+            """;
+
+    private static final String UPSERT_ATTRACTION = """
+            INSERT INTO attraction (id, name, creation_date, short_description, type, locality_id)
+            VALUES (?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, creation_date = EXCLUDED.creation_date,
+                short_description = EXCLUDED.short_description, type = EXCLUDED.type,
+                locality_id = EXCLUDED.locality_id, version = attraction.version + 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamLocalities(Consumer<LocalityDto> consumer) {
+        query(SELECT_LOCALITIES, rs -> {
+            LocalityDto dto = new LocalityDto();
+            dto.setId(rs.getLong("id"));
+            dto.setName(rs.getString("name"));
+            dto.setRegion(rs.getString("region"));
+            dto.setLatitude(rs.getObject("latitude", Double.class));
+            dto.setLongitude(rs.getObject("longitude", Double.class));
+            dto.setShortDescription(rs.getString("short_description"));
+            dto.setAssistanceIds(toIdList(rs.getArray("assistance_ids")));
+            dto.setVersion(rs.getLong("version"));
+            consumer.accept(dto);
+        });
+    }
+
+    public void streamAssistances(Consumer<AssistanceDto> consumer) {
+        query(SELECT_ASSISTANCES, rs -> {
+            AssistanceDto dto = new AssistanceDto();
+            dto.setId(rs.getLong("id"));
+            dto.setType(rs.getString("type"));
+            dto.setShortDescription(rs.getString("short_description"));
+            dto.setExecutor(rs.getString("executor"));
+            dto.setVersion(rs.getLong("version"));
+            consumer.accept(dto);
+        });
+    }
+
+    public void streamAttractions(Consumer<AttractionDto> consumer) {
+        query(SELECT_ATTRACTIONS, rs -> consumer.accept(toAttractionDto(rs)));
+    }
+
+    /**
+     * Читает достопримечательности с указанными идентификаторами; отсутствующие идентификаторы пропускаются.
+     */
+    public void streamAttractionsByIds(Collection<Long> ids, Consumer<AttractionDto> consumer) {
+        query(SELECT_ATTRACTIONS_BY_IDS, rs -> consumer.accept(toAttractionDto(rs)), (Object) ids.toArray(Long[]::new));
+    }
+
+    public void upsertLocalities(List<LocalityDto> localities) {
+        jdbcTemplate.batchUpdate(UPSERT_LOCALITY, localities.stream()
+                .map(dto -> new Object[]{dto.getId(), dto.getName(), dto.getRegion(), dto.getLatitude(),
+                        dto.getLongitude(), dto.getShortDescription()})
+                .toList());
+        replaceLinks("locality_assistance", "locality_id", localities.stream()
+                .map(dto -> new Links(dto.getId(), dto.getAssistanceIds()))
+                .toList());
+    }
+
+    public void upsertAssistances(List<AssistanceDto> assistances) {
+        jdbcTemplate.batchUpdate(UPSERT_ASSISTANCE, assistances.stream()
+                .map(dto -> new Object[]{dto.getId(), AssistanceType.valueOf(dto.getType()).name(),
+                        dto.getShortDescription(), dto.getExecutor()})
+                .toList());
+    }
+
+    public void upsertAttractions(List<AttractionDto> attractions) {
+        jdbcTemplate.batchUpdate(UPSERT_ATTRACTION, attractions.stream()
+                .map(dto -> new Object[]{dto.getId(), dto.getName(), dto.getCreationDate(), dto.getShortDescription(),
+                        AttractionType.valueOf(dto.getType().toUpperCase()).name(), dto.getLocalityId()})
+                .toList());
+        replaceLinks("attraction_assistance", "attraction_id", attractions.stream()
+                .map(dto -> new Links(dto.getId(), dto.getAssistanceIds()))
+                .toList());
+    }
+
+    /**
+     * Заменяет связи местоположений с услугами сопровождения двумя операторами: одним DELETE по всем
+     * местоположениям и одним многострочным INSERT из массивов ({@code unnest}), независимо от числа связей.
+     *
+     * @param assistanceIds Идентификаторы услуг по идентификатору местоположения.
+     */
+    public void replaceLocalityAssistances(Map<Long, List<Long>> assistanceIds) {
+        if (assistanceIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM locality_assistance WHERE locality_id = ANY (?)",
+                (Object) assistanceIds.keySet().toArray(Long[]::new));
+
+        List<Long> localityColumn = new ArrayList<>();
+        List<Long> assistanceColumn = new ArrayList<>();
+        assistanceIds.forEach((localityId, linkedIds) -> linkedIds.stream().distinct().forEach(assistanceId -> {
+            localityColumn.add(localityId);
+            assistanceColumn.add(assistanceId);
+        }));
+        if (!localityColumn.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO locality_assistance (locality_id, assistance_id) "
+                            + "SELECT * FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) ON CONFLICT DO NOTHING",
+                    localityColumn.toArray(Long[]::new), assistanceColumn.toArray(Long[]::new));
+        }
+    }
+
+    /**
+     * Увеличивает версии местоположений, у которых заменены только связи с услугами, так же как
+     * {@link #upsertLocalities} увеличивает версию при каждой записи.
+     *
+     * @param ids Идентификаторы местоположений.
+     * @return Новые версии по идентификатору местоположения.
+     */
+    public Map<Long, Long> incrementLocalityVersions(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return incrementVersions("UPDATE locality SET version = version + 1 WHERE id = ANY (?) RETURNING id, version",
+                (Object) ids.toArray(Long[]::new));
+    }
+
+    /**
+     * Увеличивает версии достопримечательностей, связанных с услугой сопровождения. Вызывается перед удалением
+     * услуги: связи удаляются каскадно внешним ключом, и список услуг в представлении достопримечательности
+     * меняется без изменения ее строки.
+     *
+     * @return Новые версии по идентификатору достопримечательности.
+     */
+    public Map<Long, Long> incrementAttractionVersionsByAssistance(Long assistanceId) {
+        return incrementVersions("""
+                UPDATE attraction SET version = version + 1
+                 WHERE id IN (SELECT attraction_id FROM attraction_assistance WHERE assistance_id = ?)
+                RETURNING id, version
+                """, assistanceId);
+    }
+
+    /**
+     * Увеличивает версии местоположений, связанных с услугой сопровождения.
+     *
+     * @return Новые версии по идентификатору местоположения.
+     * @see #incrementAttractionVersionsByAssistance
+     */
+    public Map<Long, Long> incrementLocalityVersionsByAssistance(Long assistanceId) {
+        return incrementVersions("""
+                UPDATE locality SET version = version + 1
+                 WHERE id IN (SELECT locality_id FROM locality_assistance WHERE assistance_id = ?)
+                RETURNING id, version
+                """, assistanceId);
+    }
+
+    /**
+     * Сдвигает последовательности идентификаторов за максимальный загруженный идентификатор.
+     */
+    public void resetSequences() {
+        for (String table : List.of("locality", "assistance", "attraction")) {
+            jdbcTemplate.execute("SELECT setval('" + table + "_seq', COALESCE((SELECT MAX(id) FROM " + table
+                    + "), 0) + 1, false)");
+        }
+    }
+
+    private Map<Long, Long> incrementVersions(String sql, Object... args) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> versions.put(rs.getLong("id"), rs.getLong("version")), args);
+        return versions;
+    }
+
+    private void replaceLinks(String joinTable, String ownerColumn, List<Links> links) {
+        jdbcTemplate.batchUpdate("DELETE FROM " + joinTable + " WHERE " + ownerColumn + " = ?",
+                links.stream().map(link -> new Object[]{link.ownerId()}).toList());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Links link : links) {
+            if (link.linkedIds() != null) {
+                link.linkedIds().forEach(linkedId -> rows.add(new Object[]{link.ownerId(), linkedId}));
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + joinTable + " (" + ownerColumn + ", assistance_id) VALUES (?, ?)"
+                    + " ON CONFLICT DO NOTHING", rows);
+        }
+    }
+
+    private void query(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, handler);
+    }
+
+    private static AttractionDto toAttractionDto(ResultSet rs) throws SQLException {
+        AttractionDto dto = new AttractionDto();
+        dto.setId(rs.getLong("id"));
+        dto.setName(rs.getString("name"));
+        Timestamp creationDate = rs.getTimestamp("creation_date");
+        dto.setCreationDate(creationDate != null ? creationDate.toLocalDateTime() : null);
+        dto.setShortDescription(rs.getString("short_description"));
+        dto.setType(rs.getString("type"));
+        dto.setLocalityId(rs.getLong("locality_id"));
+        dto.setAssistanceIds(toIdList(rs.getArray("assistance_ids")));
+        dto.setVersion(rs.getLong("version"));
+        return dto;
+    }
+
+    private static List<Long> toIdList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        return Arrays.asList((Long[]) array.getArray());
+    }
+
+    private record Links(Long ownerId, List<Long> linkedIds) {
+    }
+}
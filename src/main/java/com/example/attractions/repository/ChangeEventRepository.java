@@ -0,0 +1,154 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.dto.ChangeEventDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-репозиторий исходящих событий изменений каталога ({@code change_event}, transactional outbox).
+ * <p>
+ * События записываются сервисами в той же транзакции, что и само изменение, без порядкового номера.
+ * Номер присваивает ретранслятор при публикации, удерживая транзакционную advisory-блокировку: публикации
+ * выполняются по одной, поэтому номера фиксируются в порядке возрастания и потребитель, читающий ленту
+ * по {@code seq > since}, не пропускает события.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class ChangeEventRepository {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO change_event (entity_type, entity_id, operation, version) VALUES (?, ?, ?, ?)";
+    private static final int[] EVENT_TYPES = {Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BIGINT};
+
+    private static final String SELECT_UNPUBLISHED = """
+            SELECT id, entity_type, entity_id, operation, version, created_at
+              FROM change_event
+             WHERE seq IS NULL
+             ORDER BY id
+             LIMIT ?
+               FOR UPDATE
+            """;
+
+    private static final String SELECT_PUBLISHED = """
+            SELECT seq, entity_type, entity_id, operation, version, created_at
+              FROM change_event
+             WHERE seq > ?
+             ORDER BY seq
+             LIMIT ?
+            """;
+
+    // Последнее опубликованное событие не удаляется: по нему определяется, что старые события уже удалены.
+    private static final String DELETE_PUBLISHED = """
+            DELETE FROM change_event
+             WHERE published_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 second'
+               AND seq < (SELECT max(seq) FROM change_event)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(EntityType entityType, Operation operation, Long entityId, Long version) {
+        jdbcTemplate.update(INSERT_EVENT,
+                new Object[]{entityType.name(), entityId, operation.name(), version},
+                EVENT_TYPES);
+    }
+
+    /**
+     * Записывает события одного вида пакетом JDBC.
+     *
+     * @param versions Версии записей по идентификаторам в порядке записи событий.
+     */
+    public void appendAll(EntityType entityType, Operation operation, Map<Long, Long> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(versions.size());
+        versions.forEach((entityId, version) ->
+                args.add(new Object[]{entityType.name(), entityId, operation.name(), version}));
+        jdbcTemplate.batchUpdate(INSERT_EVENT, args, EVENT_TYPES);
+    }
+
+    /**
+     * Пытается захватить блокировку ретранслятора до конца текущей транзакции.
+     *
+     * @return {@code false}, если публикацию уже выполняет другая транзакция.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Присваивает порядковые номера первым {@code limit} неопубликованным событиям в порядке их записи.
+     * Вызывается в транзакции после {@link #tryLockRelay()}.
+     *
+     * @return Опубликованные события в порядке номеров.
+     */
+    public List<ChangeEventDto> publishPending(int limit) {
+        List<Long> ids = new ArrayList<>();
+        List<ChangeEventDto> events = jdbcTemplate.query(SELECT_UNPUBLISHED, (rs, rowNum) -> {
+            ids.add(rs.getLong("id"));
+            return toChangeEventDto(rs, 0);
+        }, limit);
+        if (events.isEmpty()) {
+            return events;
+        }
+
+        List<Long> seqs = new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT nextval('change_event_seq') FROM generate_series(1, ?)", Long.class, events.size()));
+        seqs.sort(null);
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            long seq = seqs.get(i);
+            events.get(i).setSeq(seq);
+            args.add(new Object[]{seq, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE change_event SET seq = ?, published_at = CURRENT_TIMESTAMP WHERE id = ?", args);
+        return events;
+    }
+
+    /**
+     * Возвращает опубликованные события с номерами больше {@code since} в порядке номеров.
+     */
+    public List<ChangeEventDto> findPublishedAfter(long since, int limit) {
+        return jdbcTemplate.query(SELECT_PUBLISHED, (rs, rowNum) -> toChangeEventDto(rs, rs.getLong("seq")),
+                since, limit);
+    }
+
+    /**
+     * Возвращает наименьший номер опубликованного события или {@code null}, если опубликованных событий нет.
+     */
+    public Long findMinPublishedSeq() {
+        return jdbcTemplate.queryForObject("SELECT min(seq) FROM change_event", Long.class);
+    }
+
+    public int deletePublishedOlderThan(Duration retention) {
+        return jdbcTemplate.update(DELETE_PUBLISHED, retention.toSeconds());
+    }
+
+    private static ChangeEventDto toChangeEventDto(ResultSet rs, long seq) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ChangeEventDto(seq,
+                EntityType.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"),
+                Operation.valueOf(rs.getString("operation")),
+                rs.getObject("version", Long.class),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+}
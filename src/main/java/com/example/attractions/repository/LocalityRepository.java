@@ -1,13 +1,33 @@
 package com.example.attractions.repository;
 
 import com.example.attractions.model.Locality;
+import com.example.attractions.repository.projection.IdLink;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Репозиторий для управления сущностями Locality.
  */
 
 @Repository
 public interface LocalityRepository extends JpaRepository<Locality, Long> {
-}
\ No newline at end of file
+
+    @Query("select a.locality.id as ownerId, a.id as linkedId from Attraction a where a.locality.id in :ids")
+    List<IdLink> findAttractionLinks(@Param("ids") Collection<Long> localityIds);
+
+    @Query("select l.id as ownerId, s.id as linkedId from Locality l join l.assistanceList s where l.id in :ids")
+    List<IdLink> findAssistanceLinks(@Param("ids") Collection<Long> localityIds);
+
+    @Query("select l.id from Locality l where l.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select l.version from Locality l where l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,80 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.LocalityDto;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+
+/**
+ * JDBC-репозиторий частичных обновлений с проверкой версии.
+ * <p>
+ * Каждое обновление выполняется одним оператором {@code UPDATE ... WHERE id = ? AND version = ?} без
+ * предварительного чтения строки: поля со значением {@code null} не изменяются ({@code COALESCE}),
+ * версия увеличивается на единицу. Методы возвращают количество обновленных строк; {@code 0} означает,
+ * что записи нет или ее версия уже изменилась.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class PatchJdbcRepository {
+
+    private static final String PATCH_ATTRACTION = """
+            UPDATE attraction
+               SET name = COALESCE(?, name),
+                   short_description = COALESCE(?, short_description),
+                   type = COALESCE(?, type),
+                   locality_id = COALESCE(?, locality_id),
+                   version = version + 1
+             WHERE id = ? AND version = ?
+            """;
+
+    private static final String PATCH_LOCALITY = """
+            UPDATE locality
+               SET name = COALESCE(?, name),
+                   region = COALESCE(?, region),
+                   latitude = COALESCE(?, latitude),
+                   longitude = COALESCE(?, longitude),
+                   short_description = COALESCE(?, short_description),
+                   version = version + 1
+             WHERE id = ? AND version = ?
+            """;
+
+    private static final String PATCH_ASSISTANCE = """
+            UPDATE assistance
+               SET type = COALESCE(?, type),
+                   short_description = COALESCE(?, short_description),
+                   executor = COALESCE(?, executor),
+                   version = version + 1
+             WHERE id = ? AND version = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Типы параметров заданы явно: иначе драйвер не может определить тип null-значения внутри COALESCE.
+    public int patchAttraction(Long id, long version, AttractionDto patch) {
+        return jdbcTemplate.update(PATCH_ATTRACTION,
+                new Object[]{patch.getName(), patch.getShortDescription(), patch.getType(), patch.getLocalityId(),
+                        id, version},
+                new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT});
+    }
+
+    public int patchLocality(Long id, long version, LocalityDto patch) {
+        return jdbcTemplate.update(PATCH_LOCALITY,
+                new Object[]{patch.getName(), patch.getRegion(), patch.getLatitude(), patch.getLongitude(),
+                        patch.getShortDescription(), id, version},
+                new int[]{Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR,
+                        Types.BIGINT, Types.BIGINT});
+    }
+
+    public int patchAssistance(Long id, long version, AssistanceDto patch) {
+        return jdbcTemplate.update(PATCH_ASSISTANCE,
+                new Object[]{patch.getType(), patch.getShortDescription(), patch.getExecutor(), id, version},
+                new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT});
+    }
+}
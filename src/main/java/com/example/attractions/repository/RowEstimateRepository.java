@@ -0,0 +1,50 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.model.AttractionType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC-репозиторий приблизительного количества строк по оценке планировщика.
+ * <p>
+ * Оценка берется из первой строки {@code EXPLAIN} (корневой узел плана) и строится по статистике
+ * {@code pg_class.reltuples} и {@code pg_statistic}, без чтения данных таблицы. Точность зависит от того,
+ * как давно выполнялся {@code ANALYZE}. Значения фильтров подставляются в текст запроса, чтобы планировщик
+ * оценивал конкретное значение, а не обобщенный план подготовленного запроса; подставляются только
+ * значения перечислений и числа.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class RowEstimateRepository {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Оценивает количество достопримечательностей с указанным типом или всех, если тип не задан.
+     */
+    public long estimateAttractions(AttractionType type) {
+        return estimate(type != null
+                ? "SELECT 1 FROM attraction WHERE type = '" + type.name() + "'"
+                : "SELECT 1 FROM attraction");
+    }
+
+    public long estimateAttractionsByLocality(long localityId) {
+        return estimate("SELECT 1 FROM attraction WHERE locality_id = " + localityId);
+    }
+
+    private long estimate(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        Matcher matcher = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
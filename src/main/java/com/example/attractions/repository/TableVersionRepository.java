@@ -0,0 +1,79 @@
+package com.example.attractions.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC-репозиторий версий таблиц каталога.
+ * <p>
+ * Триггер уровня оператора добавляет строку в журнал {@code table_change} при любом изменении строк таблицы,
+ * включая каскадные удаления в таблицах связи. Пишущие транзакции только вставляют строки журнала и не
+ * обновляют общих строк, поэтому не ждут друг друга. Версия таблицы — базовое значение из {@code table_version}
+ * плюс количество ее строк в журнале; {@link #compact()} переносит журнал в базовые значения одной транзакцией,
+ * не меняя версий. Версии только растут, поэтому сумма версий набора таблиц меняется при любом изменении
+ * данных, из которых собирается ответ, независимо от порядка фиксации транзакций.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed("attractions.repository.jdbc")
+public class TableVersionRepository {
+
+    public static final String LOCALITY = "locality";
+    public static final String ASSISTANCE = "assistance";
+    public static final String ATTRACTION = "attraction";
+    public static final String LOCALITY_ASSISTANCE = "locality_assistance";
+    public static final String ATTRACTION_ASSISTANCE = "attraction_assistance";
+
+    private static final String SUM_VERSIONS = """
+            SELECT (SELECT COALESCE(SUM(version), 0) FROM table_version WHERE table_name = ANY (?))
+                 + (SELECT COUNT(*) FROM table_change WHERE table_name = ANY (?))
+            """;
+
+    private static final String SELECT_VERSIONS = """
+            SELECT v.table_name, v.version + COUNT(c.id) AS version
+              FROM table_version v
+              LEFT JOIN table_change c ON c.table_name = v.table_name
+             GROUP BY v.table_name, v.version
+            """;
+
+    private static final String COMPACT = """
+            WITH moved AS (DELETE FROM table_change RETURNING table_name)
+            UPDATE table_version v SET version = v.version + m.changes
+              FROM (SELECT table_name, COUNT(*) AS changes FROM moved GROUP BY table_name) m
+             WHERE v.table_name = m.table_name
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long sumVersions(String... tables) {
+        Long version = jdbcTemplate.queryForObject(SUM_VERSIONS, Long.class, tables, tables);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Возвращает текущие версии всех таблиц каталога по именам таблиц.
+     */
+    public Map<String, Long> findVersions() {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(SELECT_VERSIONS, (RowCallbackHandler) rs ->
+                versions.put(rs.getString("table_name"), rs.getLong("version")));
+        return versions;
+    }
+
+    /**
+     * Сворачивает журнал изменений в базовые версии таблиц. Строки незавершенных транзакций остаются
+     * в журнале до следующего вызова. Одновременные вызовы на разных экземплярах ждут только друг друга.
+     *
+     * @return Количество таблиц, базовая версия которых обновлена.
+     */
+    public int compact() {
+        return jdbcTemplate.update(COMPACT);
+    }
+}
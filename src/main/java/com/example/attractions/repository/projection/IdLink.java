@@ -0,0 +1,34 @@
+package com.example.attractions.repository.projection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проекция связи "владелец - связанная сущность" в виде пары идентификаторов.
+ * <p>
+ * Используется для загрузки идентификаторов связанных коллекций для целой страницы
+ * одним запросом вместо ленивой загрузки коллекции каждой сущности.
+ * </p>
+ */
+public interface IdLink {
+
+    Long getOwnerId();
+
+    Long getLinkedId();
+
+    /**
+     * Группирует связи по идентификатору владельца.
+     *
+     * @param links Список связей.
+     * @return Отображение идентификатора владельца на список идентификаторов связанных сущностей.
+     */
+    static Map<Long, List<Long>> groupByOwner(List<IdLink> links) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (IdLink link : links) {
+            grouped.computeIfAbsent(link.getOwnerId(), ownerId -> new ArrayList<>()).add(link.getLinkedId());
+        }
+        return grouped;
+    }
+}
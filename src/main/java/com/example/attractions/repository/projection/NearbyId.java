@@ -0,0 +1,12 @@
+package com.example.attractions.repository.projection;
+
+/**
+ * Проекция результата пространственного поиска: идентификатор достопримечательности
+ * и расстояние до точки поиска в километрах.
+ */
+public interface NearbyId {
+
+    Long getId();
+
+    Double getDistanceKm();
+}
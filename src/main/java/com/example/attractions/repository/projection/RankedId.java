@@ -0,0 +1,12 @@
+package com.example.attractions.repository.projection;
+
+/**
+ * Проекция результата полнотекстового поиска: идентификатор достопримечательности
+ * и релевантность совпадения.
+ */
+public interface RankedId {
+
+    Long getId();
+
+    Double getRank();
+}
@@ -13,9 +13,15 @@ public interface AssistanceService {
 
     AssistanceDto updateAssistance(Long id, AssistanceDto assistanceDto);
 
+    String patchAssistance(Long id, AssistanceDto patch);
+
     void deleteAssistance(Long id);
 
     AssistanceDto getAssistanceById(Long id);
 
     Page<AssistanceDto> getAllAssistances(Pageable pageable);
+
+    String getAssistanceVersion(Long id);
+
+    String getAssistancesVersion();
 }
\ No newline at end of file
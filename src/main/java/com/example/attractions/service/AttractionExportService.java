@@ -0,0 +1,36 @@
+package com.example.attractions.service;
+
+import com.example.attractions.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Интерфейс сервиса потоковой выгрузки всех достопримечательностей.
+ */
+
+public interface AttractionExportService {
+    long exportAttractions(ExportFormat format, OutputStream output);
+
+    /**
+     * Поддерживаемые форматы выгрузки.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    enum ExportFormat {
+        NDJSON("ndjson", "application/x-ndjson"),
+        CSV("csv", "text/csv;charset=UTF-8");
+
+        private final String extension;
+        private final String mediaType;
+
+        public static ExportFormat fromExtension(String extension) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(extension))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unsupported export format: " + extension));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.attractions.service;
+
+import com.example.attractions.dto.ImportReportDto;
+
+import java.io.InputStream;
+
+/**
+ * Интерфейс сервиса массового импорта достопримечательностей.
+ */
+
+public interface AttractionImportService {
+    ImportReportDto importAttractions(InputStream input);
+}
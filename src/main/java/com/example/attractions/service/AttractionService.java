@@ -1,8 +1,16 @@
 package com.example.attractions.service;
 
 import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.dto.AttractionSearchResultDto;
+import com.example.attractions.dto.CursorPageDto;
+import com.example.attractions.dto.NearbyAttractionDto;
+import com.example.attractions.exception.BadRequestException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 /**
  * Интерфейс сервиса для управления достопримечательностями.
@@ -13,9 +21,49 @@ public interface AttractionService {
 
     Page<AttractionDto> getAllAttractions(String type, Pageable pageable);
 
+    Slice<AttractionDto> getAllAttractions(String type, Pageable pageable, TotalMode total);
+
     AttractionDto updateAttraction(Long id, AttractionDto attractionDto);
 
+    long patchAttraction(Long id, AttractionDto patch);
+
     void deleteAttraction(Long id);
 
     Page<AttractionDto> getAttractionsByLocality(Long localityId, Pageable pageable);
+
+    Slice<AttractionDto> getAttractionsByLocality(Long localityId, Pageable pageable, TotalMode total);
+
+    CursorPageDto<AttractionDto> getAllAttractionsAfter(String type, String after, int size);
+
+    CursorPageDto<AttractionDto> getAttractionsByLocalityAfter(Long localityId, String after, int size);
+
+    List<NearbyAttractionDto> getAttractionsNear(double latitude, double longitude, Double radiusKm, String type, int limit);
+
+    List<AttractionSearchResultDto> searchAttractions(String query, int limit);
+
+    AttractionFacetsDto getAttractionFacets(String type, String region, String assistance);
+
+    String getAttractionsVersion();
+
+    String getAttractionFacetsVersion();
+
+    /**
+     * Способ вычисления общего количества элементов страницы.
+     */
+    enum TotalMode {
+        /** Точное количество запросом {@code count(*)}. */
+        EXACT,
+        /** Оценка планировщика; на последней странице количество точное. */
+        ESTIMATE,
+        /** Без количества: ответ содержит только признак наличия следующей страницы. */
+        NONE;
+
+        public static TotalMode fromValue(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported total mode: " + value);
+            }
+        }
+    }
 }
\ No newline at end of file
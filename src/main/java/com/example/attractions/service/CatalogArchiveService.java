@@ -0,0 +1,42 @@
+package com.example.attractions.service;
+
+import com.example.attractions.dto.CatalogImportReportDto;
+import com.example.attractions.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Интерфейс сервиса выгрузки и загрузки каталога в виде сжатого tar-архива.
+ */
+
+public interface CatalogArchiveService {
+    void exportCatalog(ArchiveFormat format, OutputStream output);
+
+    CatalogImportReportDto importCatalog(InputStream input);
+
+    /**
+     * Поддерживаемые форматы архива.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    enum ArchiveFormat {
+        TAR_GZ("tar.gz", CompressorStreamFactory.GZIP, "application/gzip"),
+        TAR_ZST("tar.zst", CompressorStreamFactory.ZSTANDARD, "application/zstd");
+
+        private final String extension;
+        private final String compressor;
+        private final String mediaType;
+
+        public static ArchiveFormat fromExtension(String extension) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(extension))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unsupported archive format: " + extension));
+        }
+    }
+}
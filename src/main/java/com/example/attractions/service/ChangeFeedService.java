@@ -0,0 +1,10 @@
+package com.example.attractions.service;
+
+import com.example.attractions.dto.ChangeFeedDto;
+
+/**
+ * Интерфейс сервиса ленты изменений каталога.
+ */
+public interface ChangeFeedService {
+    ChangeFeedDto getChanges(long since, int limit);
+}
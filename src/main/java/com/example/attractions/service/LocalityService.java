@@ -1,9 +1,12 @@
 package com.example.attractions.service;
 
+import com.example.attractions.dto.BatchResultDto;
 import com.example.attractions.dto.LocalityDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Интерфейс сервиса для управления местоположениями.
  */
@@ -13,9 +16,17 @@ public interface LocalityService {
 
     LocalityDto updateLocality(Long id, LocalityDto localityDto);
 
+    String patchLocality(Long id, LocalityDto patch);
+
     void deleteLocality(Long id);
 
     LocalityDto getLocalityById(Long id);
 
     Page<LocalityDto> getAllLocalities(Pageable pageable);
+
+    BatchResultDto saveLocalities(List<LocalityDto> localities);
+
+    String getLocalityVersion(Long id);
+
+    String getLocalitiesVersion();
 }
@@ -1,17 +1,32 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
 import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.AssistanceMapper;
 import com.example.attractions.model.Assistance;
 import com.example.attractions.model.AssistanceType;
 import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.TableVersionRepository;
 import com.example.attractions.service.AssistanceService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
 
 /**
  * Реализация сервиса для управления услугами сопровождения.
@@ -24,10 +39,18 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
+@Timed("attractions.service")
 public class AssistanceServiceImpl implements AssistanceService {
 
     private final AssistanceRepository assistanceRepository;
     private final AssistanceMapper assistanceMapper;
+    private final TableVersionRepository tableVersionRepository;
+    private final PatchJdbcRepository patchJdbcRepository;
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+    private final CacheEvictor cacheEvictor;
 
     /**
      * Добавляет новую услугу сопровождения.
@@ -36,10 +59,14 @@ public class AssistanceServiceImpl implements AssistanceService {
      * @return Созданный объект {@link AssistanceDto} с присвоенным идентификатором.
      */
     @Override
+    @Transactional
     public AssistanceDto addAssistance(AssistanceDto assistanceDto) {
-        log.info("Добавление услуги сопровождения: {}", assistanceDto.getType());
+        log.debug("Добавление услуги сопровождения: {}", assistanceDto.getType());
         Assistance assistance = assistanceMapper.toEntity(assistanceDto);
+        assistance.setId(null);
         Assistance savedAssistance = assistanceRepository.save(assistance);
+        changeEventRepository.append(EntityType.ASSISTANCE, Operation.CREATED,
+                savedAssistance.getId(), savedAssistance.getVersion());
         return assistanceMapper.toDto(savedAssistance);
     }
 
@@ -52,38 +79,99 @@ public class AssistanceServiceImpl implements AssistanceService {
      * @throws NotFoundException если услуга с данным ID не найдена.
      */
     @Override
+    @Transactional
     public AssistanceDto updateAssistance(Long id, AssistanceDto assistanceDto) {
-        log.info("Обновление услуги сопровождения с ID: {}", id);
+        log.debug("Обновление услуги сопровождения с ID: {}", id);
         Assistance existingAssistance = assistanceRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Assistance not found with ID: " + id));
+        OptimisticLocks.checkVersion("Assistance", id, assistanceDto.getVersion(), existingAssistance.getVersion());
 
         try {
             existingAssistance.setType(AssistanceType.valueOf(assistanceDto.getType()));
         } catch (IllegalArgumentException e) {
             log.error("Некорректный тип услуги сопровождения: {}", assistanceDto.getType());
-            throw new IllegalArgumentException("Invalid assistance type: " + assistanceDto.getType());
+            throw new BadRequestException("Invalid assistance type: " + assistanceDto.getType());
         }
 
         existingAssistance.setShortDescription(assistanceDto.getShortDescription());
         existingAssistance.setExecutor(assistanceDto.getExecutor());
 
         Assistance updatedAssistance = assistanceRepository.save(existingAssistance);
+        assistanceRepository.flush();
+        changeEventRepository.append(EntityType.ASSISTANCE, Operation.UPDATED, id, updatedAssistance.getVersion());
+        cacheEvictor.evict(CacheConfig.ASSISTANCES, id);
         return assistanceMapper.toDto(updatedAssistance);
     }
 
+    /**
+     * Частично обновляет услугу сопровождения: изменяются только переданные поля.
+     * <p>
+     * Обновление выполняется одним условным {@code UPDATE ... WHERE id = ? AND version = ?} без чтения
+     * сущности; проверка существования выполняется только если ни одна строка не обновлена.
+     * </p>
+     *
+     * @param id    Идентификатор услуги сопровождения.
+     * @param patch DTO с изменяемыми полями и текущей версией; поля со значением {@code null} не изменяются.
+     * @return Версия представления после изменения, та же, что вернет {@link #getAssistanceVersion}; вычисляется
+     *         в пишущей транзакции, поэтому не зависит от отставания реплики.
+     * @throws BadRequestException если версия не передана или тип услуги некорректен.
+     * @throws NotFoundException   если услуга с данным ID не найдена.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась.
+     */
+    @Override
+    @Transactional
+    public String patchAssistance(Long id, AssistanceDto patch) {
+        log.debug("Частичное обновление услуги сопровождения с ID: {}", id);
+        long version = OptimisticLocks.requireVersion("Assistance", patch.getVersion());
+        if (patch.getType() != null) {
+            try {
+                AssistanceType.valueOf(patch.getType());
+            } catch (IllegalArgumentException e) {
+                log.error("Некорректный тип услуги сопровождения: {}", patch.getType());
+                throw new BadRequestException("Invalid assistance type: " + patch.getType());
+            }
+        }
+
+        int updated = patchJdbcRepository.patchAssistance(id, version, patch);
+        long newVersion = OptimisticLocks.patched(updated, "Assistance", id, version,
+                () -> assistanceRepository.existsById(id));
+        changeEventRepository.append(EntityType.ASSISTANCE, Operation.UPDATED, id, newVersion);
+        hibernateCacheInvalidator.evictAssistance(id);
+        cacheEvictor.evict(CacheConfig.ASSISTANCES, id);
+
+        log.info("Услуга сопровождения с ID: {} обновлена, версия {}", id, newVersion);
+        return assistanceVersion(newVersion);
+    }
+
     /**
      * Удаляет услугу сопровождения по ее идентификатору.
+     * Связи с достопримечательностями и местоположениями удаляются каскадно внешними ключами, поэтому версии
+     * связанных записей увеличиваются до удаления, а в ленту изменений пишутся события их изменения.
      *
      * @param id Идентификатор услуги сопровождения, которую необходимо удалить.
      * @throws NotFoundException если услуга с данным ID не найдена.
      */
     @Override
+    @Transactional
     public void deleteAssistance(Long id) {
-        log.info("Удаление услуги сопровождения с ID: {}", id);
+        log.debug("Удаление услуги сопровождения с ID: {}", id);
         if (!assistanceRepository.existsById(id)) {
             throw new NotFoundException("Assistance not found with ID: " + id);
         }
+        Map<Long, Long> attractionVersions = catalogJdbcRepository.incrementAttractionVersionsByAssistance(id);
+        Map<Long, Long> localityVersions = catalogJdbcRepository.incrementLocalityVersionsByAssistance(id);
         assistanceRepository.deleteById(id);
+        changeEventRepository.append(EntityType.ASSISTANCE, Operation.DELETED, id, null);
+        changeEventRepository.appendAll(EntityType.ATTRACTION, Operation.UPDATED, attractionVersions);
+        changeEventRepository.appendAll(EntityType.LOCALITY, Operation.UPDATED, localityVersions);
+        // Связи удаляются каскадно внешними ключами, а версии увеличены через JDBC, минуя Hibernate.
+        hibernateCacheInvalidator.evictLocalityAssistances();
+        localityVersions.keySet().forEach(hibernateCacheInvalidator::evictLocality);
+        if (!attractionVersions.isEmpty()) {
+            hibernateCacheInvalidator.evictAttractionQueries();
+        }
+        cacheEvictor.evict(CacheConfig.ASSISTANCES, id);
+        cacheEvictor.clear(CacheConfig.LOCALITIES);
     }
 
     /**
@@ -94,8 +182,9 @@ public class AssistanceServiceImpl implements AssistanceService {
      * @throws NotFoundException если услуга с данным ID не найдена.
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.ASSISTANCES, key = "#id")
     public AssistanceDto getAssistanceById(Long id) {
-        log.info("Получение услуги сопровождения по ID: {}", id);
+        log.debug("Получение услуги сопровождения по ID: {}", id);
         Assistance assistance = assistanceRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Assistance not found with ID: " + id));
         return assistanceMapper.toDto(assistance);
@@ -109,7 +198,37 @@ public class AssistanceServiceImpl implements AssistanceService {
      */
     @Override
     public Page<AssistanceDto> getAllAssistances(Pageable pageable) {
-        log.info("Получение всех услуг сопровождения");
+        log.debug("Получение всех услуг сопровождения");
         return assistanceRepository.findAll(pageable).map(assistanceMapper::toDto);
     }
+
+    /**
+     * Получает версию представления услуги сопровождения без загрузки сущности.
+     * Версия меняется при изменении записи и списка связанных достопримечательностей.
+     *
+     * @param id Идентификатор услуги сопровождения.
+     * @return Строка версии для ETag.
+     * @throws NotFoundException если услуга с данным ID не найдена.
+     */
+    @Override
+    public String getAssistanceVersion(Long id) {
+        Long version = assistanceRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Assistance not found with ID: " + id));
+        return assistanceVersion(version);
+    }
+
+    /**
+     * Получает версию списка услуг сопровождения. Меняется при любом изменении услуг и их связей.
+     *
+     * @return Строка версии для ETag.
+     */
+    @Override
+    public String getAssistancesVersion() {
+        return String.valueOf(tableVersionRepository.sumVersions(
+                TableVersionRepository.ASSISTANCE, TableVersionRepository.ATTRACTION_ASSISTANCE));
+    }
+
+    private String assistanceVersion(long rowVersion) {
+        return rowVersion + "." + tableVersionRepository.sumVersions(TableVersionRepository.ATTRACTION_ASSISTANCE);
+    }
 }
@@ -0,0 +1,169 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.jdbc.ExportConnectionPool;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.service.AttractionExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация сервиса потоковой выгрузки всех достопримечательностей в NDJSON или CSV.
+ * <p>
+ * Строки читаются серверным курсором {@link CatalogJdbcRepository#streamAttractions} в read-only транзакции
+ * на соединении {@link ExportConnectionPool} и сразу записываются в выходной поток; идентификаторы местоположения и услуг приходят из того же запроса.
+ * Поток сбрасывается после каждых {@link CatalogJdbcRepository#FETCH_SIZE} строк, то есть после каждой
+ * порции курсора, поэтому клиент получает данные по мере чтения, а объем памяти не зависит от размера каталога.
+ * </p>
+ *
+ * @see com.example.attractions.service.AttractionExportService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("attractions.service")
+public class AttractionExportServiceImpl implements AttractionExportService {
+
+    static final String CSV_HEADER = "id,name,creation_date,short_description,type,locality_id,assistance_ids";
+
+    private final ExportConnectionPool exportConnectionPool;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Выгружает все достопримечательности в порядке идентификаторов.
+     *
+     * @param format Формат выгрузки.
+     * @param output Поток, в который записываются строки. Поток не закрывается.
+     * @return Количество выгруженных записей.
+     */
+    @Override
+    public long exportAttractions(ExportFormat format, OutputStream output) {
+        log.debug("Выгрузка достопримечательностей в формате {}", format.getExtension());
+        long[] count = {0};
+        try (RowWriter writer = createWriter(format, CloseShieldOutputStream.wrap(output))) {
+            exportConnectionPool.readOnly(repository -> repository.streamAttractions(dto -> {
+                try {
+                    writer.write(dto);
+                    if (++count[0] % CatalogJdbcRepository.FETCH_SIZE == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Выгружено достопримечательностей: {}", count[0]);
+        return count[0];
+    }
+
+    private RowWriter createWriter(ExportFormat format, OutputStream output) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter(objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output));
+            case CSV -> new CsvRowWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        };
+    }
+
+    private interface RowWriter extends Closeable, Flushable {
+        void write(AttractionDto dto) throws IOException;
+    }
+
+    private record NdjsonRowWriter(SequenceWriter writer) implements RowWriter {
+
+        @Override
+        public void write(AttractionDto dto) throws IOException {
+            writer.write(dto);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(AttractionDto dto) throws IOException {
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writer.write(escape(dto.getName()));
+            writer.write(',');
+            writer.write(dto.getCreationDate() != null ? dto.getCreationDate().toString() : "");
+            writer.write(',');
+            writer.write(escape(dto.getShortDescription()));
+            writer.write(',');
+            writer.write(escape(dto.getType()));
+            writer.write(',');
+            writer.write(dto.getLocalityId() != null ? dto.getLocalityId().toString() : "");
+            writer.write(',');
+            writer.write(joinIds(dto.getAssistanceIds()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        // Экранирование по RFC 4180: поле в кавычках, если содержит разделитель, кавычку или перевод строки.
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static String joinIds(List<Long> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return "";
+            }
+            return ids.stream().map(String::valueOf).collect(Collectors.joining(";"));
+        }
+    }
+}
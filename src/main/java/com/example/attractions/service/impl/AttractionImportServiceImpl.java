@@ -0,0 +1,217 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.config.CacheConfig;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.dto.ImportReportDto;
+import com.example.attractions.mapper.AttractionMapper;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.Attraction;
+import com.example.attractions.model.AttractionType;
+import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.service.AttractionImportService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация сервиса массового импорта достопримечательностей.
+ * <p>
+ * Входные данные (NDJSON или JSON-массив) разбираются потоково и обрабатываются порциями
+ * по {@link #CHUNK_SIZE} записей: для каждой порции выполняется один запрос проверки
+ * местоположений, один запрос проверки услуг и пакетная вставка в отдельной транзакции
+ * вместе с событиями создания для ленты изменений.
+ * Объем используемой памяти ограничен размером порции и не зависит от размера входных данных.
+ * </p>
+ *
+ * @see com.example.attractions.service.AttractionImportService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("attractions.service")
+public class AttractionImportServiceImpl implements AttractionImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final String CHUNK_ROLLED_BACK = "Chunk rolled back due to a database error";
+
+    private final AttractionRepository attractionRepository;
+    private final LocalityRepository localityRepository;
+    private final AssistanceRepository assistanceRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final AttractionMapper attractionMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Импортирует достопримечательности из потока NDJSON или JSON-массива.
+     *
+     * @param input Поток с входными данными.
+     * @return Отчет {@link ImportReportDto} с количеством импортированных записей и ошибками по строкам.
+     */
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.LOCALITIES, CacheConfig.ASSISTANCES}, allEntries = true)
+    public ImportReportDto importAttractions(InputStream input) {
+        log.info("Массовый импорт достопримечательностей");
+        ImportReportDto report = new ImportReportDto();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        long row = 0;
+        try (MappingIterator<AttractionDto> iterator = objectMapper.readerFor(AttractionDto.class).readValues(input)) {
+            while (true) {
+                AttractionDto dto;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    dto = iterator.nextValue();
+                    row++;
+                } catch (JsonParseException e) {
+                    row++;
+                    report.addError(row, "Malformed input: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    row++;
+                    report.addError(row, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                if (dto == null) {
+                    report.addError(row, "Empty record");
+                    continue;
+                }
+                chunk.add(new ImportRow(row, dto));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        report.setTotal(row);
+
+        log.info("Импорт завершен: всего {}, импортировано {}, с ошибками {}",
+                report.getTotal(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportReportDto report) {
+        Set<Long> localityIds = new HashSet<>();
+        Set<Long> assistanceIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.dto().getLocalityId() != null) {
+                localityIds.add(row.dto().getLocalityId());
+            }
+            if (row.dto().getAssistanceIds() != null) {
+                assistanceIds.addAll(row.dto().getAssistanceIds());
+            }
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> existingLocalities = localityIds.isEmpty()
+                        ? Set.of() : localityRepository.findExistingIds(localityIds);
+                Set<Long> existingAssistances = assistanceIds.isEmpty()
+                        ? Set.of() : assistanceRepository.findExistingIds(assistanceIds);
+
+                List<Attraction> attractions = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    String error = validate(row.dto(), existingLocalities, existingAssistances);
+                    if (error != null) {
+                        report.addError(row.number(), error);
+                    } else {
+                        accepted.add(row);
+                        attractions.add(toEntity(row.dto()));
+                    }
+                }
+
+                attractionRepository.saveAll(attractions);
+                entityManager.flush();
+                Map<Long, Long> versions = new LinkedHashMap<>();
+                attractions.forEach(attraction -> versions.put(attraction.getId(), attraction.getVersion()));
+                changeEventRepository.appendAll(EntityType.ATTRACTION, Operation.CREATED, versions);
+                entityManager.clear();
+            });
+            report.setImported(report.getImported() + accepted.size());
+        } catch (DataAccessException | PersistenceException e) {
+            // Текст исключения может содержать SQL и значения других строк, поэтому он только пишется в журнал.
+            log.error("Ошибка записи порции импорта, отклонено записей: {}", accepted.size(), e);
+            accepted.forEach(row -> report.addError(row.number(), CHUNK_ROLLED_BACK));
+        }
+    }
+
+    private String validate(AttractionDto dto, Set<Long> existingLocalities, Set<Long> existingAssistances) {
+        Set<ConstraintViolation<AttractionDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        try {
+            AttractionType.valueOf(dto.getType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Invalid attraction type: " + dto.getType();
+        }
+        if (!existingLocalities.contains(dto.getLocalityId())) {
+            return "Locality not found with ID: " + dto.getLocalityId();
+        }
+        if (dto.getAssistanceIds() != null) {
+            for (Long assistanceId : dto.getAssistanceIds()) {
+                if (!existingAssistances.contains(assistanceId)) {
+                    return "Assistance not found with ID: " + assistanceId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Attraction toEntity(AttractionDto dto) {
+        Attraction attraction = attractionMapper.toEntity(dto);
+        attraction.setId(null);
+        attraction.setLocality(localityRepository.getReferenceById(dto.getLocalityId()));
+        if (dto.getAssistanceIds() != null) {
+            List<Assistance> assistanceList = dto.getAssistanceIds().stream()
+                    .distinct()
+                    .map(assistanceRepository::getReferenceById)
+                    .collect(Collectors.toList());
+            attraction.setAssistanceList(assistanceList);
+        }
+        return attraction;
+    }
+
+    private record ImportRow(long number, AttractionDto dto) {
+    }
+}
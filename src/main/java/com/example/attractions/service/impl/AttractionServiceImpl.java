@@ -1,19 +1,56 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
 import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.dto.AttractionSearchResultDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.dto.CursorPageDto;
+import com.example.attractions.dto.NearbyAttractionDto;
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.AttractionMapper;
+import com.example.attractions.model.AssistanceType;
 import com.example.attractions.model.Attraction;
 import com.example.attractions.model.AttractionType;
 import com.example.attractions.model.Locality;
+import com.example.attractions.pagination.KeysetCursor;
+import com.example.attractions.repository.AttractionFacetRepository;
 import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.ChangeEventRepository;
 import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.RowEstimateRepository;
+import com.example.attractions.repository.TableVersionRepository;
+import com.example.attractions.repository.projection.IdLink;
+import com.example.attractions.repository.projection.NearbyId;
+import com.example.attractions.repository.projection.RankedId;
 import com.example.attractions.service.AttractionService;
+import com.example.attractions.snapshot.AttractionSnapshot;
+import com.example.attractions.snapshot.AttractionSnapshotRefresher;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для управления достопримечательностями.
@@ -26,11 +63,26 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
+@Timed("attractions.service")
 public class AttractionServiceImpl implements AttractionService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    static final int MAX_NEARBY_RESULTS = 500;
+    static final int MAX_SEARCH_RESULTS = 100;
+    private static final Sort SNAPSHOT_SORT = Sort.by("name");
+
     private final AttractionRepository attractionRepository;
     private final LocalityRepository localityRepository;
     private final AttractionMapper attractionMapper;
+    private final CacheEvictor cacheEvictor;
+    private final TableVersionRepository tableVersionRepository;
+    private final PatchJdbcRepository patchJdbcRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final AttractionFacetRepository attractionFacetRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+    private final ObjectProvider<AttractionSnapshotRefresher> snapshotRefresher;
 
     /**
      * Добавляет новую достопримечательность.
@@ -40,20 +92,23 @@ public class AttractionServiceImpl implements AttractionService {
      * @throws NotFoundException если местоположение с указанным ID не найдено.
      */
     @Override
+    @Transactional
     public AttractionDto addAttraction(AttractionDto attractionDto) {
-        log.info("Добавление достопримечательности: {}", attractionDto.getName());
+        log.debug("Добавление достопримечательности: {}", attractionDto.getName());
 
         Attraction attraction = attractionMapper.toEntity(attractionDto);
+        attraction.setId(null);
 
         if (attractionDto.getLocalityId() != null) {
-            Locality locality = localityRepository.findById(attractionDto.getLocalityId())
-                    .orElseThrow(() -> new NotFoundException("Locality not found with ID: " + attractionDto.getLocalityId()));
-            attraction.setLocality(locality);
+            attraction.setLocality(getLocalityReference(attractionDto.getLocalityId()));
         } else {
             throw new NotFoundException("Locality ID is required to add an attraction.");
         }
 
         Attraction savedAttraction = attractionRepository.save(attraction);
+        changeEventRepository.append(EntityType.ATTRACTION, Operation.CREATED,
+                savedAttraction.getId(), savedAttraction.getVersion());
+        evictLocality(attractionDto.getLocalityId());
 
         log.info("Достопримечательность добавлена с ID: {}", savedAttraction.getId());
 
@@ -71,22 +126,49 @@ public class AttractionServiceImpl implements AttractionService {
      */
     @Override
     public Page<AttractionDto> getAllAttractions(String type, Pageable pageable) {
-        log.info("Получение всех достопримечательностей с фильтром по типу: {}", type);
-        Page<Attraction> attractions;
+        log.debug("Получение всех достопримечательностей с фильтром по типу: {}", type);
+        AttractionType attractionType = type != null ? parseAttractionType(type) : null;
+        AttractionSnapshot snapshot = snapshotFor(pageable);
+        if (snapshot != null) {
+            return new PageImpl<>(snapshot.page(attractionType, offset(pageable), pageSize(pageable)),
+                    pageable, snapshot.count(attractionType));
+        }
 
-        if (type != null) {
-            try {
-                AttractionType attractionType = AttractionType.valueOf(type.toUpperCase());
-                attractions = attractionRepository.findAllByType(attractionType, pageable);
-            } catch (IllegalArgumentException e) {
-                log.error("Некорректный тип достопримечательности: {}", type);
-                throw new NotFoundException("Invalid attraction type: " + type);
-            }
+        Pageable ordered = stableOrder(pageable);
+        Page<Attraction> attractions;
+        if (attractionType != null) {
+            attractions = PageableExecutionUtils.getPage(attractionRepository.findByType(attractionType, ordered),
+                    ordered, () -> attractionRepository.countByType(attractionType));
         } else {
-            attractions = attractionRepository.findAll(pageable);
+            attractions = attractionRepository.findAll(ordered);
         }
 
-        return attractions.map(attractionMapper::toDto);
+        return toDtoPage(attractions);
+    }
+
+    /**
+     * Получает страницу достопримечательностей с опциональным фильтром по типу, вычисляя общее количество
+     * указанным способом. {@link TotalMode#EXACT} равнозначен {@link #getAllAttractions(String, Pageable)};
+     * при остальных способах запрос {@code count(*)} не выполняется.
+     *
+     * @param type     Тип достопримечательности для фильтрации (опционально).
+     * @param pageable Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
+     * @param total    Способ вычисления общего количества.
+     * @return {@link Page} для {@link TotalMode#EXACT} и {@link TotalMode#ESTIMATE}, {@link Slice} для
+     *         {@link TotalMode#NONE}.
+     * @throws NotFoundException если указанный тип достопримечательности некорректен.
+     */
+    @Override
+    public Slice<AttractionDto> getAllAttractions(String type, Pageable pageable, TotalMode total) {
+        if (total == TotalMode.EXACT || snapshotFor(pageable) != null) {
+            return getAllAttractions(type, pageable);
+        }
+        log.debug("Получение достопримечательностей без точного количества с фильтром по типу: {}", type);
+        AttractionType attractionType = type != null ? parseAttractionType(type) : null;
+        Slice<Attraction> attractions = attractionType != null
+                ? attractionRepository.findSliceByType(attractionType, stableOrder(pageable))
+                : attractionRepository.findSliceBy(stableOrder(pageable));
+        return withTotal(toDtoSlice(attractions), total, () -> rowEstimateRepository.estimateAttractions(attractionType));
     }
 
     /**
@@ -96,40 +178,85 @@ public class AttractionServiceImpl implements AttractionService {
      * @param attractionDto  DTO объекта достопримечательности, содержащий обновленные данные.
      * @return Обновленный объект {@link AttractionDto}.
      * @throws NotFoundException если достопримечательность или местоположение с данным ID не найдены.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если передана устаревшая версия.
      */
     @Override
+    @Transactional
     public AttractionDto updateAttraction(Long id, AttractionDto attractionDto) {
-        log.info("Обновление достопримечательности с ID: {}", id);
+        log.debug("Обновление достопримечательности с ID: {}", id);
 
         Attraction existingAttraction = attractionRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Attraction not found with ID: " + id));
+        OptimisticLocks.checkVersion("Attraction", id, attractionDto.getVersion(), existingAttraction.getVersion());
 
         existingAttraction.setName(attractionDto.getName());
         existingAttraction.setShortDescription(attractionDto.getShortDescription());
 
         if (attractionDto.getType() != null) {
-            try {
-                AttractionType attractionType = AttractionType.valueOf(attractionDto.getType().toUpperCase());
-                existingAttraction.setType(attractionType);
-            } catch (IllegalArgumentException e) {
-                log.error("Некорректный тип достопримечательности: {}", attractionDto.getType());
-                throw new NotFoundException("Invalid attraction type: " + attractionDto.getType());
-            }
+            existingAttraction.setType(parseAttractionType(attractionDto.getType()));
         }
 
+        Long previousLocalityId = existingAttraction.getLocality() != null
+                ? existingAttraction.getLocality().getId() : null;
         if (attractionDto.getLocalityId() != null) {
-            Locality locality = localityRepository.findById(attractionDto.getLocalityId())
-                    .orElseThrow(() -> new NotFoundException("Locality not found with ID: " + attractionDto.getLocalityId()));
-            existingAttraction.setLocality(locality);
+            existingAttraction.setLocality(getLocalityReference(attractionDto.getLocalityId()));
         }
 
         Attraction updatedAttraction = attractionRepository.save(existingAttraction);
+        attractionRepository.flush();
+        changeEventRepository.append(EntityType.ATTRACTION, Operation.UPDATED, id, updatedAttraction.getVersion());
+        evictLocality(previousLocalityId);
+        evictLocality(attractionDto.getLocalityId());
 
         log.info("Достопримечательность с ID: {} обновлена", updatedAttraction.getId());
 
         return attractionMapper.toDto(updatedAttraction);
     }
 
+    /**
+     * Частично обновляет достопримечательность: изменяются только переданные поля.
+     * <p>
+     * Обновление выполняется одним условным {@code UPDATE ... WHERE id = ? AND version = ?} без чтения
+     * сущности; проверка существования выполняется только если ни одна строка не обновлена.
+     * </p>
+     *
+     * @param id    Идентификатор достопримечательности.
+     * @param patch DTO с изменяемыми полями и текущей версией; поля со значением {@code null} не изменяются.
+     * @return Новая версия достопримечательности.
+     * @throws BadRequestException если версия не передана или название пустое.
+     * @throws NotFoundException   если достопримечательность или местоположение не найдены,
+     *                             либо тип некорректен.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась.
+     */
+    @Override
+    @Transactional
+    public long patchAttraction(Long id, AttractionDto patch) {
+        log.debug("Частичное обновление достопримечательности с ID: {}", id);
+        long version = OptimisticLocks.requireVersion("Attraction", patch.getVersion());
+        if (patch.getName() != null && patch.getName().isBlank()) {
+            throw new BadRequestException("Attraction name must not be blank");
+        }
+        if (patch.getType() != null) {
+            patch.setType(parseAttractionType(patch.getType()).name());
+        }
+        if (patch.getLocalityId() != null) {
+            requireLocality(patch.getLocalityId());
+        }
+
+        int updated = patchJdbcRepository.patchAttraction(id, version, patch);
+        long newVersion = OptimisticLocks.patched(updated, "Attraction", id, version,
+                () -> attractionRepository.existsById(id));
+        changeEventRepository.append(EntityType.ATTRACTION, Operation.UPDATED, id, newVersion);
+        hibernateCacheInvalidator.evictAttractionQueries();
+        if (patch.getLocalityId() != null) {
+            // прежнее местоположение не читается, поэтому сбрасываются все
+            cacheEvictor.clear(CacheConfig.LOCALITIES);
+        }
+
+        log.info("Достопримечательность с ID: {} обновлена, версия {}", id, newVersion);
+        return newVersion;
+    }
+
     /**
      * Удаляет достопримечательность по ее идентификатору.
      *
@@ -137,12 +264,15 @@ public class AttractionServiceImpl implements AttractionService {
      * @throws NotFoundException если достопримечательность с данным ID не найдена.
      */
     @Override
+    @Transactional
     public void deleteAttraction(Long id) {
-        log.info("Удаление достопримечательности с ID: {}", id);
+        log.debug("Удаление достопримечательности с ID: {}", id);
         if (!attractionRepository.existsById(id)) {
             throw new NotFoundException("Attraction not found with ID: " + id);
         }
         attractionRepository.deleteById(id);
+        changeEventRepository.append(EntityType.ATTRACTION, Operation.DELETED, id, null);
+        cacheEvictor.clear(CacheConfig.LOCALITIES, CacheConfig.ASSISTANCES);
         log.info("Достопримечательность с ID: {} удалена", id);
     }
 
@@ -156,8 +286,366 @@ public class AttractionServiceImpl implements AttractionService {
      */
     @Override
     public Page<AttractionDto> getAttractionsByLocality(Long localityId, Pageable pageable) {
-        log.info("Получение достопримечательностей для местоположения с ID: {}", localityId);
-        Page<Attraction> attractions = attractionRepository.findByLocalityId(localityId, pageable);
-        return attractions.map(attractionMapper::toDto);
+        log.debug("Получение достопримечательностей для местоположения с ID: {}", localityId);
+        AttractionSnapshot snapshot = snapshotFor(pageable);
+        if (snapshot != null) {
+            return new PageImpl<>(snapshot.pageByLocality(localityId, offset(pageable), pageSize(pageable)),
+                    pageable, snapshot.countByLocality(localityId));
+        }
+
+        Page<Attraction> attractions = attractionRepository.findByLocalityId(localityId, stableOrder(pageable));
+        return toDtoPage(attractions);
+    }
+
+    /**
+     * Получает страницу достопримечательностей местоположения, вычисляя общее количество указанным способом.
+     *
+     * @param localityId Идентификатор местоположения.
+     * @param pageable   Объект {@link Pageable}, содержащий информацию о пагинации и сортировке.
+     * @param total      Способ вычисления общего количества.
+     * @return {@link Page} для {@link TotalMode#EXACT} и {@link TotalMode#ESTIMATE}, {@link Slice} для
+     *         {@link TotalMode#NONE}.
+     * @see #getAllAttractions(String, Pageable, TotalMode)
+     */
+    @Override
+    public Slice<AttractionDto> getAttractionsByLocality(Long localityId, Pageable pageable, TotalMode total) {
+        if (total == TotalMode.EXACT || snapshotFor(pageable) != null) {
+            return getAttractionsByLocality(localityId, pageable);
+        }
+        log.debug("Получение достопримечательностей без точного количества для местоположения с ID: {}", localityId);
+        Slice<Attraction> attractions = attractionRepository.findSliceByLocalityId(localityId, stableOrder(pageable));
+        return withTotal(toDtoSlice(attractions), total,
+                () -> rowEstimateRepository.estimateAttractionsByLocality(localityId));
+    }
+
+    /**
+     * Получает страницу достопримечательностей с опциональным фильтром по типу,
+     * используя курсорную (keyset) пагинацию по паре {@code (name, id)}.
+     * <p>
+     * Стоимость запроса не зависит от глубины страницы, общее количество элементов не вычисляется.
+     * </p>
+     *
+     * @param type  Тип достопримечательности для фильтрации (опционально).
+     * @param after Курсор последнего элемента предыдущей страницы (опционально).
+     * @param size  Размер страницы.
+     * @return Страница {@link CursorPageDto} объектов {@link AttractionDto}.
+     * @throws NotFoundException если указанный тип достопримечательности некорректен.
+     */
+    @Override
+    public CursorPageDto<AttractionDto> getAllAttractionsAfter(String type, String after, int size) {
+        log.debug("Получение достопримечательностей после курсора {} с фильтром по типу: {}", after, type);
+        int pageSize = normalizePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : null;
+        List<Attraction> attractions;
+
+        if (type != null) {
+            AttractionType attractionType = parseAttractionType(type);
+            attractions = cursor == null
+                    ? attractionRepository.findFirstKeysetPageByType(attractionType, limit)
+                    : attractionRepository.findKeysetPageByTypeAfter(attractionType, cursor.getName(), cursor.getId(), limit);
+        } else {
+            attractions = cursor == null
+                    ? attractionRepository.findFirstKeysetPage(limit)
+                    : attractionRepository.findKeysetPageAfter(cursor.getName(), cursor.getId(), limit);
+        }
+
+        return toCursorPage(attractions, pageSize);
+    }
+
+    /**
+     * Получает страницу достопримечательностей определенного местоположения,
+     * используя курсорную (keyset) пагинацию по паре {@code (name, id)}.
+     *
+     * @param localityId Идентификатор местоположения.
+     * @param after      Курсор последнего элемента предыдущей страницы (опционально).
+     * @param size       Размер страницы.
+     * @return Страница {@link CursorPageDto} объектов {@link AttractionDto}.
+     */
+    @Override
+    public CursorPageDto<AttractionDto> getAttractionsByLocalityAfter(Long localityId, String after, int size) {
+        log.debug("Получение достопримечательностей для местоположения с ID: {} после курсора {}", localityId, after);
+        int pageSize = normalizePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Attraction> attractions;
+
+        if (after != null) {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            attractions = attractionRepository.findKeysetPageByLocalityIdAfter(
+                    localityId, cursor.getName(), cursor.getId(), limit);
+        } else {
+            attractions = attractionRepository.findFirstKeysetPageByLocalityId(localityId, limit);
+        }
+
+        return toCursorPage(attractions, pageSize);
+    }
+
+    /**
+     * Ищет достопримечательности рядом с точкой по координатам их местоположений.
+     * Если радиус не указан, возвращает {@code limit} ближайших (k-nearest-neighbour).
+     * Результат упорядочен по возрастанию расстояния.
+     *
+     * @param latitude  Широта точки поиска.
+     * @param longitude Долгота точки поиска.
+     * @param radiusKm  Радиус поиска в километрах (опционально).
+     * @param type      Тип достопримечательности для фильтрации (опционально).
+     * @param limit     Максимальное количество результатов.
+     * @return Список {@link NearbyAttractionDto} с расстоянием до точки поиска.
+     * @throws BadRequestException если координаты или радиус некорректны.
+     * @throws NotFoundException   если указанный тип достопримечательности некорректен.
+     */
+    @Override
+    public List<NearbyAttractionDto> getAttractionsNear(double latitude, double longitude, Double radiusKm,
+                                                        String type, int limit) {
+        log.debug("Поиск достопримечательностей рядом с точкой ({}, {}) в радиусе {} км", latitude, longitude, radiusKm);
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+        if (radiusKm != null && radiusKm <= 0) {
+            throw new BadRequestException("Radius must be positive: " + radiusKm);
+        }
+        String typeName = type != null ? parseAttractionType(type).name() : null;
+        int resultLimit = Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS));
+
+        List<NearbyId> nearby = radiusKm != null
+                ? attractionRepository.findWithinRadius(latitude, longitude, radiusKm * 1000, typeName, resultLimit)
+                : attractionRepository.findNearest(latitude, longitude, typeName, resultLimit);
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, AttractionDto> attractions = loadDtosById(nearby.stream().map(NearbyId::getId).toList());
+        return nearby.stream()
+                .filter(item -> attractions.containsKey(item.getId()))
+                .map(item -> new NearbyAttractionDto(attractions.get(item.getId()), item.getDistanceKm()))
+                .toList();
+    }
+
+    /**
+     * Выполняет ранжированный полнотекстовый поиск по названию и описанию достопримечательности,
+     * а также по названию и региону ее местоположения. Поддерживает синтаксис запросов websearch
+     * (кавычки, "or", "-"), нечеткое совпадение и поиск по префиксу названия.
+     *
+     * @param query Строка поиска.
+     * @param limit Максимальное количество результатов.
+     * @return Список {@link AttractionSearchResultDto}, упорядоченный по убыванию релевантности.
+     * @throws BadRequestException если строка поиска пуста.
+     */
+    @Override
+    public List<AttractionSearchResultDto> searchAttractions(String query, int limit) {
+        log.debug("Полнотекстовый поиск достопримечательностей: {}", query);
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        String normalized = query.strip();
+        int resultLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+
+        List<RankedId> ranked = attractionRepository.search(normalized, escapeLike(normalized) + "%", resultLimit);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, AttractionDto> attractions = loadDtosById(ranked.stream().map(RankedId::getId).toList());
+        return ranked.stream()
+                .filter(item -> attractions.containsKey(item.getId()))
+                .map(item -> new AttractionSearchResultDto(attractions.get(item.getId()), item.getRank()))
+                .toList();
+    }
+
+    /**
+     * Считает достопримечательности по типам, регионам и типам услуг сопровождения одним запросом.
+     * Все заданные фильтры применяются одновременно.
+     *
+     * @param type       Тип достопримечательности для фильтрации (опционально).
+     * @param region     Регион местоположения для фильтрации (опционально).
+     * @param assistance Тип услуги сопровождения для фильтрации (опционально).
+     * @return Объект {@link AttractionFacetsDto} с количеством по каждому фасету.
+     * @throws NotFoundException   если тип достопримечательности некорректен.
+     * @throws BadRequestException если тип услуги сопровождения некорректен.
+     */
+    @Override
+    public AttractionFacetsDto getAttractionFacets(String type, String region, String assistance) {
+        log.debug("Подсчет фасетов достопримечательностей: тип {}, регион {}, услуга {}", type, region, assistance);
+        AttractionType attractionType = type != null ? parseAttractionType(type) : null;
+        AssistanceType assistanceType = null;
+        if (assistance != null) {
+            try {
+                assistanceType = AssistanceType.valueOf(assistance.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.error("Некорректный тип услуги сопровождения: {}", assistance);
+                throw new BadRequestException("Invalid assistance type: " + assistance);
+            }
+        }
+        return attractionFacetRepository.countFacets(attractionType, region, assistanceType);
+    }
+
+    /**
+     * Получает версию фасетов. В отличие от {@link #getAttractionsVersion()} учитывает также местоположения
+     * (регион) и услуги (тип), поэтому снимок каталога здесь не используется.
+     *
+     * @return Строка версии для ETag.
+     */
+    @Override
+    public String getAttractionFacetsVersion() {
+        return String.valueOf(tableVersionRepository.sumVersions(
+                TableVersionRepository.ATTRACTION, TableVersionRepository.ATTRACTION_ASSISTANCE,
+                TableVersionRepository.LOCALITY, TableVersionRepository.ASSISTANCE));
+    }
+
+    /**
+     * Получает версию списков достопримечательностей. Меняется при любом изменении достопримечательностей
+     * и их связей с услугами. Если включен снимок каталога, версией служит контрольная сумма снимка
+     * и запрос к базе не выполняется.
+     *
+     * @return Строка версии для ETag.
+     */
+    @Override
+    public String getAttractionsVersion() {
+        AttractionSnapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return "s" + Long.toHexString(snapshot.getDigest());
+        }
+        return String.valueOf(tableVersionRepository.sumVersions(
+                TableVersionRepository.ATTRACTION, TableVersionRepository.ATTRACTION_ASSISTANCE));
+    }
+
+    /**
+     * Загружает достопримечательности по идентификаторам одним запросом (плюс один запрос услуг).
+     * Порядок результата задает вызывающий код.
+     */
+    private Map<Long, AttractionDto> loadDtosById(List<Long> ids) {
+        return toDtoList(attractionRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(AttractionDto::getId, Function.identity()));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Возвращает ссылку на местоположение без загрузки сущности.
+     * Существование проверяется запросом {@code exists} без чтения местоположения и его связей.
+     */
+    private Locality getLocalityReference(Long localityId) {
+        requireLocality(localityId);
+        return localityRepository.getReferenceById(localityId);
+    }
+
+    private void requireLocality(Long localityId) {
+        if (!localityRepository.existsById(localityId)) {
+            log.error("Местоположение с ID: {} не найдено", localityId);
+            throw new NotFoundException("Locality not found with ID: " + localityId);
+        }
+    }
+
+    private void evictLocality(Long localityId) {
+        if (localityId != null) {
+            cacheEvictor.evict(CacheConfig.LOCALITIES, localityId);
+        }
+    }
+
+    private int normalizePageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private AttractionType parseAttractionType(String type) {
+        try {
+            return AttractionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Некорректный тип достопримечательности: {}", type);
+            throw new NotFoundException("Invalid attraction type: " + type);
+        }
+    }
+
+    private CursorPageDto<AttractionDto> toCursorPage(List<Attraction> attractions, int pageSize) {
+        boolean hasNext = attractions.size() > pageSize;
+        List<Attraction> pageContent = hasNext ? attractions.subList(0, pageSize) : attractions;
+        String nextCursor = null;
+        if (hasNext) {
+            Attraction last = pageContent.get(pageContent.size() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(toDtoList(pageContent), pageSize, hasNext, nextCursor);
+    }
+
+    private AttractionSnapshot currentSnapshot() {
+        AttractionSnapshotRefresher refresher = snapshotRefresher.getIfAvailable();
+        return refresher != null ? refresher.current().orElse(null) : null;
+    }
+
+    // Снимок упорядочен по (name, id), поэтому обслуживает только сортировку по названию по возрастанию.
+    private AttractionSnapshot snapshotFor(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isSorted() && !sort.equals(SNAPSHOT_SORT)) {
+            return null;
+        }
+        return currentSnapshot();
+    }
+
+    /**
+     * Дополняет сортировку запроса к базе идентификатором, чтобы порядок строк с равными ключами не зависел
+     * от плана запроса и совпадал с порядком снимка; без сортировки строки упорядочиваются как в снимке.
+     */
+    private static Pageable stableOrder(Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : SNAPSHOT_SORT;
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    private static long offset(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getOffset() : 0;
+    }
+
+    private static int pageSize(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Дополняет срез оценкой общего количества. Оценка не меньше уже известного количества, а если следующей
+     * страницы нет, количество известно точно и оценка не запрашивается.
+     */
+    private static Slice<AttractionDto> withTotal(Slice<AttractionDto> slice, TotalMode total, LongSupplier estimate) {
+        if (total != TotalMode.ESTIMATE) {
+            return slice;
+        }
+        long known = offset(slice.getPageable()) + slice.getNumberOfElements();
+        long totalElements = slice.hasNext() ? Math.max(estimate.getAsLong(), known + 1) : known;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), totalElements);
+    }
+
+    /**
+     * Преобразует страницу сущностей в DTO, загружая идентификаторы услуг
+     * для всей страницы одним запросом.
+     */
+    private Page<AttractionDto> toDtoPage(Page<Attraction> attractions) {
+        Map<Long, List<Long>> assistanceIds = loadAssistanceIds(attractions.getContent());
+        return attractions.map(attraction ->
+                attractionMapper.toDto(attraction, assistanceIds.getOrDefault(attraction.getId(), List.of())));
+    }
+
+    private Slice<AttractionDto> toDtoSlice(Slice<Attraction> attractions) {
+        Map<Long, List<Long>> assistanceIds = loadAssistanceIds(attractions.getContent());
+        return attractions.map(attraction ->
+                attractionMapper.toDto(attraction, assistanceIds.getOrDefault(attraction.getId(), List.of())));
+    }
+
+    private List<AttractionDto> toDtoList(List<Attraction> attractions) {
+        Map<Long, List<Long>> assistanceIds = loadAssistanceIds(attractions);
+        return attractions.stream()
+                .map(attraction ->
+                        attractionMapper.toDto(attraction, assistanceIds.getOrDefault(attraction.getId(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<Long>> loadAssistanceIds(List<Attraction> attractions) {
+        if (attractions.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = attractions.stream().map(Attraction::getId).toList();
+        return IdLink.groupByOwner(attractionRepository.findAssistanceLinks(ids));
     }
 }
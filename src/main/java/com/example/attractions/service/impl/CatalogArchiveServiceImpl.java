@@ -0,0 +1,201 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
+import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.CatalogImportReportDto;
+import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.jdbc.ExportConnectionPool;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.service.CatalogArchiveService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Реализация сервиса выгрузки и загрузки каталога в виде сжатого tar-архива.
+ * <p>
+ * Архив содержит по одному NDJSON-файлу на таблицу: {@value #ASSISTANCES_ENTRY},
+ * {@value #LOCALITIES_ENTRY} и {@value #ATTRACTIONS_ENTRY}. Загрузка применяет элементы в порядке архива
+ * вместе со связями, поэтому выгрузка пишет их так, чтобы услуги и местоположения появлялись раньше
+ * ссылающихся на них записей.
+ * Выгрузка читает таблицы серверным курсором в одной read-only транзакции на соединении
+ * {@link ExportConnectionPool}; так как заголовок tar-записи содержит ее размер,
+ * каждая таблица сначала пишется во временный файл на диске, а затем копируется в архив.
+ * Загрузка читает записи потоково и вставляет их пакетами по {@link #BATCH_SIZE}.
+ * Ни одна из операций не держит данные каталога в куче целиком.
+ * </p>
+ *
+ * @see com.example.attractions.service.CatalogArchiveService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("attractions.service")
+public class CatalogArchiveServiceImpl implements CatalogArchiveService {
+
+    static final String ASSISTANCES_ENTRY = "assistances.ndjson";
+    static final String LOCALITIES_ENTRY = "localities.ndjson";
+    static final String ATTRACTIONS_ENTRY = "attractions.ndjson";
+    static final int BATCH_SIZE = 1000;
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final ExportConnectionPool exportConnectionPool;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    /**
+     * Выгружает каталог в сжатый tar-архив.
+     *
+     * @param format Формат архива.
+     * @param output Поток, в который записывается архив. Поток не закрывается.
+     */
+    @Override
+    public void exportCatalog(ArchiveFormat format, OutputStream output) {
+        log.info("Выгрузка каталога в формате {}", format.getExtension());
+        try (OutputStream compressed = new CompressorStreamFactory()
+                .createCompressorOutputStream(format.getCompressor(), CloseShieldOutputStream.wrap(output));
+             TarArchiveOutputStream tar = new TarArchiveOutputStream(compressed)) {
+            exportConnectionPool.readOnly(repository -> {
+                writeEntry(tar, ASSISTANCES_ENTRY, repository::streamAssistances);
+                writeEntry(tar, LOCALITIES_ENTRY, repository::streamLocalities);
+                writeEntry(tar, ATTRACTIONS_ENTRY, repository::streamAttractions);
+            });
+            tar.finish();
+        } catch (IOException | CompressorException e) {
+            throw new IllegalStateException("Failed to export catalog", e);
+        }
+    }
+
+    /**
+     * Загружает каталог из сжатого tar-архива (gzip или zstd, формат определяется автоматически).
+     * Записи с существующими идентификаторами обновляются. Загрузка выполняется в одной транзакции.
+     *
+     * @param input Поток с архивом.
+     * @return Отчет {@link CatalogImportReportDto} с количеством загруженных записей по таблицам.
+     * @throws BadRequestException если формат архива не поддерживается.
+     */
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.LOCALITIES, CacheConfig.ASSISTANCES}, allEntries = true)
+    public CatalogImportReportDto importCatalog(InputStream input) {
+        log.info("Загрузка каталога из архива");
+        InputStream decompressed;
+        try {
+            decompressed = new CompressorStreamFactory().createCompressorInputStream(new BufferedInputStream(input));
+        } catch (CompressorException e) {
+            throw new BadRequestException("Unsupported archive format", e);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(decompressed)) {
+            CatalogImportReportDto report = transaction.execute(status -> {
+                CatalogImportReportDto result = new CatalogImportReportDto();
+                try {
+                    TarArchiveEntry entry;
+                    while ((entry = tar.getNextEntry()) != null) {
+                        switch (entry.getName()) {
+                            case ASSISTANCES_ENTRY -> result.setAssistances(
+                                    readEntry(tar, AssistanceDto.class, catalogJdbcRepository::upsertAssistances));
+                            case LOCALITIES_ENTRY -> result.setLocalities(
+                                    readEntry(tar, LocalityDto.class, catalogJdbcRepository::upsertLocalities));
+                            case ATTRACTIONS_ENTRY -> result.setAttractions(
+                                    readEntry(tar, AttractionDto.class, catalogJdbcRepository::upsertAttractions));
+                            default -> log.warn("Пропуск неизвестного элемента архива: {}", entry.getName());
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                catalogJdbcRepository.resetSequences();
+                return result;
+            });
+            hibernateCacheInvalidator.evictAll();
+            log.info("Каталог загружен: {}", report);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> void writeEntry(TarArchiveOutputStream tar, String name, Consumer<Consumer<T>> source) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("catalog-", ".ndjson");
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(spool));
+                 SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(file)) {
+                source.accept(value -> {
+                    try {
+                        writer.write(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            TarArchiveEntry entry = new TarArchiveEntry(name);
+            entry.setSize(Files.size(spool));
+            tar.putArchiveEntry(entry);
+            Files.copy(spool, tar);
+            tar.closeArchiveEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException e) {
+                    log.warn("Не удалось удалить временный файл {}", spool);
+                }
+            }
+        }
+    }
+
+    private <T> long readEntry(TarArchiveInputStream tar, Class<T> type, Consumer<List<T>> sink) throws IOException {
+        long count = 0;
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(CloseShieldInputStream.wrap(tar))) {
+            while (iterator.hasNextValue()) {
+                batch.add(iterator.nextValue());
+                if (batch.size() == BATCH_SIZE) {
+                    sink.accept(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+            count += batch.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.ChangeEventDto;
+import com.example.attractions.dto.ChangeFeedDto;
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.service.ChangeFeedService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Реализация сервиса ленты изменений каталога.
+ * <p>
+ * Лента содержит только опубликованные события ({@link com.example.attractions.outbox.ChangeEventRelay}),
+ * поэтому события появляются в ней с задержкой до {@code app.outbox.relay-interval}, зато номера
+ * фиксируются строго по возрастанию и чтение по {@code seq > since} ничего не пропускает.
+ * </p>
+ *
+ * @see com.example.attractions.service.ChangeFeedService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+@Timed("attractions.service")
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
+    private final ChangeEventRepository changeEventRepository;
+
+    /**
+     * Получает события с номерами больше {@code since}.
+     * <p>
+     * Наименьший сохраненный номер проверяется после чтения событий и только если порция начинается
+     * не с {@code since + 1}: так очистка, выполненная между запросами, может дать лишний признак
+     * {@code resyncRequired}, но не пропуск событий.
+     * </p>
+     *
+     * @param since Номер последнего обработанного потребителем события; {@code 0} — с начала ленты.
+     * @param limit Максимальное количество событий в ответе.
+     * @return Порция ленты {@link ChangeFeedDto}.
+     * @throws BadRequestException если {@code since} отрицательный.
+     */
+    @Override
+    public ChangeFeedDto getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        log.debug("Получение изменений после номера {}", since);
+
+        List<ChangeEventDto> events = changeEventRepository.findPublishedAfter(since, pageSize + 1);
+        boolean hasMore = events.size() > pageSize;
+        if (hasMore) {
+            events = events.subList(0, pageSize);
+        }
+
+        boolean resyncRequired = false;
+        if (events.isEmpty() || events.get(0).getSeq() != since + 1) {
+            Long minSeq = changeEventRepository.findMinPublishedSeq();
+            resyncRequired = minSeq != null && minSeq > since + 1;
+        }
+        long next = events.isEmpty() ? since : events.get(events.size() - 1).getSeq();
+        return new ChangeFeedDto(events, next, hasMore, resyncRequired);
+    }
+}
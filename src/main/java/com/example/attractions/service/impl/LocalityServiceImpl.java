@@ -1,20 +1,46 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
+import com.example.attractions.dto.BatchItemResultDto;
+import com.example.attractions.dto.BatchItemResultDto.Status;
+import com.example.attractions.dto.BatchResultDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
 import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.LocalityMapper;
 import com.example.attractions.model.Assistance;
 import com.example.attractions.model.Locality;
 import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.repository.ChangeEventRepository;
 import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.TableVersionRepository;
+import com.example.attractions.repository.projection.IdLink;
 import com.example.attractions.service.LocalityService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для управления местоположениями.
@@ -27,11 +53,22 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
+@Timed("attractions.service")
 public class LocalityServiceImpl implements LocalityService {
 
+    static final int MAX_BATCH_SIZE = 5000;
+
     private final LocalityRepository localityRepository;
     private final AssistanceRepository assistanceRepository;
     private final LocalityMapper localityMapper;
+    private final TableVersionRepository tableVersionRepository;
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final PatchJdbcRepository patchJdbcRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+    private final CacheEvictor cacheEvictor;
+    private final Validator validator;
 
     /**
      * Добавляет новое местоположение.
@@ -40,14 +77,18 @@ public class LocalityServiceImpl implements LocalityService {
      * @return Созданный объект {@link LocalityDto} с присвоенным идентификатором.
      */
     @Override
+    @Transactional
     public LocalityDto addLocality(LocalityDto localityDto) {
-        log.info("Добавление местоположения: {}", localityDto.getName());
+        log.debug("Добавление местоположения: {}", localityDto.getName());
         Locality locality = localityMapper.toEntity(localityDto);
+        locality.setId(null);
         if (localityDto.getAssistanceIds() != null) {
             List<Assistance> assistanceList = assistanceRepository.findAllById(localityDto.getAssistanceIds());
             locality.setAssistanceList(assistanceList);
         }
         Locality savedLocality = localityRepository.save(locality);
+        changeEventRepository.append(EntityType.LOCALITY, Operation.CREATED,
+                savedLocality.getId(), savedLocality.getVersion());
         return localityMapper.toDto(savedLocality);
     }
 
@@ -60,10 +101,12 @@ public class LocalityServiceImpl implements LocalityService {
      * @throws NotFoundException если местоположение с данным ID не найдено.
      */
     @Override
+    @Transactional
     public LocalityDto updateLocality(Long id, LocalityDto localityDto) {
-        log.info("Обновление местоположения с ID: {}", id);
+        log.debug("Обновление местоположения с ID: {}", id);
         Locality existingLocality = localityRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Locality not found with ID: " + id));
+        OptimisticLocks.checkVersion("Locality", id, localityDto.getVersion(), existingLocality.getVersion());
 
         existingLocality.setShortDescription(localityDto.getShortDescription());
 
@@ -73,9 +116,49 @@ public class LocalityServiceImpl implements LocalityService {
         }
 
         Locality updatedLocality = localityRepository.save(existingLocality);
+        localityRepository.flush();
+        changeEventRepository.append(EntityType.LOCALITY, Operation.UPDATED, id, updatedLocality.getVersion());
+        cacheEvictor.evict(CacheConfig.LOCALITIES, id);
         return localityMapper.toDto(updatedLocality);
     }
 
+    /**
+     * Частично обновляет местоположение: изменяются только переданные поля записи.
+     * Связи с достопримечательностями и услугами не изменяются.
+     * <p>
+     * Обновление выполняется одним условным {@code UPDATE ... WHERE id = ? AND version = ?} без чтения
+     * сущности; проверка существования выполняется только если ни одна строка не обновлена.
+     * </p>
+     *
+     * @param id    Идентификатор местоположения.
+     * @param patch DTO с изменяемыми полями и текущей версией; поля со значением {@code null} не изменяются.
+     * @return Версия представления после изменения, та же, что вернет {@link #getLocalityVersion}; вычисляется
+     *         в пишущей транзакции, поэтому не зависит от отставания реплики.
+     * @throws BadRequestException если версия не передана или название либо регион пустые.
+     * @throws NotFoundException   если местоположение с данным ID не найдено.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException если версия изменилась.
+     */
+    @Override
+    @Transactional
+    public String patchLocality(Long id, LocalityDto patch) {
+        log.debug("Частичное обновление местоположения с ID: {}", id);
+        long version = OptimisticLocks.requireVersion("Locality", patch.getVersion());
+        if (patch.getName() != null && patch.getName().isBlank()
+                || patch.getRegion() != null && patch.getRegion().isBlank()) {
+            throw new BadRequestException("Locality name and region must not be blank");
+        }
+
+        int updated = patchJdbcRepository.patchLocality(id, version, patch);
+        long newVersion = OptimisticLocks.patched(updated, "Locality", id, version,
+                () -> localityRepository.existsById(id));
+        changeEventRepository.append(EntityType.LOCALITY, Operation.UPDATED, id, newVersion);
+        hibernateCacheInvalidator.evictLocality(id);
+        cacheEvictor.evict(CacheConfig.LOCALITIES, id);
+
+        log.info("Местоположение с ID: {} обновлено, версия {}", id, newVersion);
+        return localityVersion(newVersion);
+    }
+
     /**
      * Удаляет местоположение по его идентификатору.
      *
@@ -83,12 +166,15 @@ public class LocalityServiceImpl implements LocalityService {
      * @throws NotFoundException если местоположение с данным ID не найдено.
      */
     @Override
+    @Transactional
     public void deleteLocality(Long id) {
-        log.info("Удаление местоположения с ID: {}", id);
+        log.debug("Удаление местоположения с ID: {}", id);
         if (!localityRepository.existsById(id)) {
             throw new NotFoundException("Locality not found with ID: " + id);
         }
         localityRepository.deleteById(id);
+        changeEventRepository.append(EntityType.LOCALITY, Operation.DELETED, id, null);
+        cacheEvictor.evict(CacheConfig.LOCALITIES, id);
         log.info("Местоположение с ID: {} удалено", id);
     }
 
@@ -100,8 +186,9 @@ public class LocalityServiceImpl implements LocalityService {
      * @throws NotFoundException если местоположение с данным ID не найдено.
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.LOCALITIES, key = "#id")
     public LocalityDto getLocalityById(Long id) {
-        log.info("Получение местоположения по ID: {}", id);
+        log.debug("Получение местоположения по ID: {}", id);
         Locality locality = localityRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Locality not found with ID: " + id));
         return localityMapper.toDto(locality);
@@ -115,7 +202,200 @@ public class LocalityServiceImpl implements LocalityService {
      */
     @Override
     public Page<LocalityDto> getAllLocalities(Pageable pageable) {
-        log.info("Получение всех местоположений");
-        return localityRepository.findAll(pageable).map(localityMapper::toDto);
+        log.debug("Получение всех местоположений");
+        Page<Locality> localities = localityRepository.findAll(pageable);
+        if (localities.isEmpty()) {
+            return localities.map(localityMapper::toDto);
+        }
+
+        List<Long> ids = localities.getContent().stream().map(Locality::getId).toList();
+        Map<Long, List<Long>> attractionIds = IdLink.groupByOwner(localityRepository.findAttractionLinks(ids));
+        Map<Long, List<Long>> assistanceIds = IdLink.groupByOwner(localityRepository.findAssistanceLinks(ids));
+
+        return localities.map(locality -> localityMapper.toDto(locality,
+                attractionIds.getOrDefault(locality.getId(), List.of()),
+                assistanceIds.getOrDefault(locality.getId(), List.of())));
+    }
+
+    /**
+     * Создает и обновляет местоположения пакетом. Элементы без идентификатора создаются, с идентификатором —
+     * обновляются так же, как в {@link #updateLocality}: описание и, если передан список, услуги сопровождения;
+     * переданная версия сверяется с текущей.
+     * <p>
+     * Обновляемые местоположения загружаются одним запросом, идентификаторы услуг всего пакета проверяются
+     * одним запросом, новые записи вставляются пакетами JDBC, а связи с услугами заменяются одним DELETE
+     * и одним многострочным INSERT. Ошибочные элементы не записываются и отражаются в результате.
+     * Версия обновляемого местоположения увеличивается, если изменилось описание или заменены связи;
+     * событие {@link Operation#UPDATED} пишется только для таких местоположений и содержит новую версию.
+     * </p>
+     *
+     * @param localities Список DTO местоположений.
+     * @return Отчет {@link BatchResultDto} с результатом по каждому элементу в исходном порядке.
+     * @throws BadRequestException если размер пакета превышает {@value #MAX_BATCH_SIZE}.
+     */
+    @Override
+    @Transactional
+    public BatchResultDto saveLocalities(List<LocalityDto> localities) {
+        if (localities.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        log.debug("Пакетная запись местоположений: {}", localities.size());
+
+        Set<Long> updateIds = new HashSet<>();
+        Set<Long> assistanceIds = new HashSet<>();
+        for (LocalityDto dto : localities) {
+            if (dto != null && dto.getId() != null) {
+                updateIds.add(dto.getId());
+            }
+            if (dto != null && dto.getAssistanceIds() != null) {
+                assistanceIds.addAll(dto.getAssistanceIds());
+            }
+        }
+        Map<Long, Locality> existing = updateIds.isEmpty() ? Map.of()
+                : localityRepository.findAllById(updateIds).stream()
+                        .collect(Collectors.toMap(Locality::getId, Function.identity()));
+        Set<Long> existingAssistances = assistanceIds.isEmpty()
+                ? Set.of() : assistanceRepository.findExistingIds(assistanceIds);
+
+        BatchItemResultDto[] results = new BatchItemResultDto[localities.size()];
+        Map<Integer, Locality> created = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+        Set<Long> describedIds = new HashSet<>();
+        for (int index = 0; index < localities.size(); index++) {
+            LocalityDto dto = localities.get(index);
+            Locality locality = dto != null && dto.getId() == null ? localityMapper.toEntity(dto) : null;
+            String error = validateBatchItem(dto, locality, existing, existingAssistances, seenIds);
+            if (error != null) {
+                results[index] = new BatchItemResultDto(index, dto != null ? dto.getId() : null, Status.FAILED, error);
+            } else if (locality != null) {
+                created.put(index, locality);
+            } else {
+                Locality current = existing.get(dto.getId());
+                if (!Objects.equals(current.getShortDescription(), dto.getShortDescription())) {
+                    current.setShortDescription(dto.getShortDescription());
+                    describedIds.add(dto.getId());
+                }
+                results[index] = new BatchItemResultDto(index, dto.getId(), Status.UPDATED, null);
+            }
+        }
+
+        localityRepository.saveAll(created.values());
+        localityRepository.flush();
+        created.forEach((index, locality) ->
+                results[index] = new BatchItemResultDto(index, locality.getId(), Status.CREATED, null));
+
+        Map<Long, List<Long>> links = new LinkedHashMap<>();
+        for (int index = 0; index < results.length; index++) {
+            if (results[index].getStatus() != Status.FAILED && localities.get(index).getAssistanceIds() != null) {
+                links.put(results[index].getId(), localities.get(index).getAssistanceIds());
+            }
+        }
+        catalogJdbcRepository.replaceLocalityAssistances(links);
+        hibernateCacheInvalidator.evictLocalityAssistances(links.keySet());
+
+        // Версии местоположений с измененным описанием увеличены при flush; остальным, у которых заменены связи,
+        // версия увеличивается отдельным запросом, а устаревшие записи кэша второго уровня вытесняются.
+        Set<Long> relinkedIds = links.keySet().stream()
+                .filter(id -> existing.containsKey(id) && !describedIds.contains(id))
+                .collect(Collectors.toSet());
+        Map<Long, Long> relinkedVersions = catalogJdbcRepository.incrementLocalityVersions(relinkedIds);
+        relinkedIds.forEach(hibernateCacheInvalidator::evictLocality);
+        appendBatchEvents(results, existing, created, describedIds, relinkedVersions);
+        cacheEvictor.clear(CacheConfig.LOCALITIES);
+
+        BatchResultDto report = new BatchResultDto();
+        report.setItems(List.of(results));
+        for (BatchItemResultDto result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> report.setCreated(report.getCreated() + 1);
+                case UPDATED -> report.setUpdated(report.getUpdated() + 1);
+                case FAILED -> report.setFailed(report.getFailed() + 1);
+            }
+        }
+        log.info("Пакетная запись местоположений: создано {}, обновлено {}, с ошибками {}",
+                report.getCreated(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    /**
+     * Получает версию представления местоположения без загрузки сущности.
+     * Версия меняется при изменении записи, а также списков связанных достопримечательностей и услуг.
+     *
+     * @param id Идентификатор местоположения.
+     * @return Строка версии для ETag.
+     * @throws NotFoundException если местоположение с данным ID не найдено.
+     */
+    @Override
+    public String getLocalityVersion(Long id) {
+        Long version = localityRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Locality not found with ID: " + id));
+        return localityVersion(version);
+    }
+
+    /**
+     * Получает версию списка местоположений. Меняется при любом изменении местоположений и их связей.
+     *
+     * @return Строка версии для ETag.
+     */
+    @Override
+    public String getLocalitiesVersion() {
+        return String.valueOf(tableVersionRepository.sumVersions(TableVersionRepository.LOCALITY,
+                TableVersionRepository.ATTRACTION, TableVersionRepository.LOCALITY_ASSISTANCE));
+    }
+
+    private String localityVersion(long rowVersion) {
+        return rowVersion + "." + tableVersionRepository.sumVersions(
+                TableVersionRepository.ATTRACTION, TableVersionRepository.LOCALITY_ASSISTANCE);
+    }
+
+    private void appendBatchEvents(BatchItemResultDto[] results, Map<Long, Locality> existing,
+                                   Map<Integer, Locality> created, Set<Long> describedIds,
+                                   Map<Long, Long> relinkedVersions) {
+        Map<Long, Long> createdVersions = new LinkedHashMap<>();
+        created.values().forEach(locality -> createdVersions.put(locality.getId(), locality.getVersion()));
+        Map<Long, Long> updatedVersions = new LinkedHashMap<>();
+        for (BatchItemResultDto result : results) {
+            if (result.getStatus() != Status.UPDATED) {
+                continue;
+            }
+            if (describedIds.contains(result.getId())) {
+                updatedVersions.put(result.getId(), existing.get(result.getId()).getVersion());
+            } else if (relinkedVersions.containsKey(result.getId())) {
+                updatedVersions.put(result.getId(), relinkedVersions.get(result.getId()));
+            }
+        }
+        changeEventRepository.appendAll(EntityType.LOCALITY, Operation.CREATED, createdVersions);
+        changeEventRepository.appendAll(EntityType.LOCALITY, Operation.UPDATED, updatedVersions);
+    }
+
+    private String validateBatchItem(LocalityDto dto, Locality created, Map<Long, Locality> existing,
+                                     Set<Long> existingAssistances, Set<Long> seenIds) {
+        if (dto == null) {
+            return "Empty record";
+        }
+        if (created != null) {
+            Set<ConstraintViolation<Locality>> violations = validator.validate(created);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+        } else if (!existing.containsKey(dto.getId())) {
+            return "Locality not found with ID: " + dto.getId();
+        } else if (dto.getVersion() != null && !dto.getVersion().equals(existing.get(dto.getId()).getVersion())) {
+            return "Locality with ID: " + dto.getId() + " was modified concurrently, expected version "
+                    + dto.getVersion();
+        } else if (!seenIds.add(dto.getId())) {
+            return "Duplicate locality ID in batch: " + dto.getId();
+        }
+        if (dto.getAssistanceIds() != null) {
+            for (Long assistanceId : dto.getAssistanceIds()) {
+                if (!existingAssistances.contains(assistanceId)) {
+                    return "Assistance not found with ID: " + assistanceId;
+                }
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,63 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.exception.NotFoundException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Проверки версий для оптимистической блокировки.
+ * <p>
+ * Версия из DTO сравнивается с версией записи; при расхождении выбрасывается
+ * {@link ObjectOptimisticLockingFailureException}, которое возвращается клиенту как 409 Conflict.
+ * </p>
+ */
+final class OptimisticLocks {
+
+    private OptimisticLocks() {
+    }
+
+    /**
+     * Проверяет версию, переданную клиентом при полном обновлении. Отсутствующая версия не проверяется.
+     */
+    static void checkVersion(String entity, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw conflict(entity, id, expected);
+        }
+    }
+
+    /**
+     * Возвращает версию, обязательную для частичного обновления.
+     *
+     * @throws BadRequestException если версия не передана.
+     */
+    static long requireVersion(String entity, Long version) {
+        if (version == null) {
+            throw new BadRequestException(entity + " version is required for a partial update");
+        }
+        return version;
+    }
+
+    /**
+     * Разбирает результат условного {@code UPDATE}: если ни одна строка не обновлена, различает
+     * отсутствующую запись (404) и изменившуюся версию (409). Дополнительный запрос выполняется только
+     * в случае неудачи.
+     *
+     * @return Новая версия записи.
+     */
+    static long patched(int updated, String entity, Long id, long version, BooleanSupplier exists) {
+        if (updated > 0) {
+            return version + 1;
+        }
+        if (!exists.getAsBoolean()) {
+            throw new NotFoundException(entity + " not found with ID: " + id);
+        }
+        throw conflict(entity, id, version);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict(String entity, Long id, Long version) {
+        return new ObjectOptimisticLockingFailureException(
+                entity + " with ID: " + id + " was modified concurrently, expected version " + version, null);
+    }
+}
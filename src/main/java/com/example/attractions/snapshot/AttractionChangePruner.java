@@ -0,0 +1,27 @@
+package com.example.attractions.snapshot;
+
+import com.example.attractions.config.CatalogSnapshotProperties;
+import com.example.attractions.repository.AttractionChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Периодически удаляет из ленты изменений строки старше {@code app.catalog-snapshot.change-retention}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AttractionChangePruner {
+
+    private final AttractionChangeRepository attractionChangeRepository;
+    private final CatalogSnapshotProperties properties;
+
+    public void prune() {
+        try {
+            int deleted = attractionChangeRepository.deleteOlderThan(properties.getChangeRetention());
+            log.debug("Удалено строк ленты изменений: {}", deleted);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось очистить ленту изменений: {}", e.getMessage());
+        }
+    }
+}
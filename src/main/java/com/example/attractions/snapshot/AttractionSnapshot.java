@@ -0,0 +1,246 @@
+package com.example.attractions.snapshot;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.model.AttractionType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Неизменяемый снимок всех достопримечательностей в памяти.
+ * <p>
+ * Данные хранятся по столбцам в порядке {@code (name, id)}: идентификаторы и ссылки на местоположения —
+ * в массивах {@code long[]}, тип — порядковым номером {@link AttractionType}. Списки позиций по типу и по
+ * местоположению (posting lists) упорядочены так же, поэтому страница списка — это срез массива без сортировки.
+ * Названия сравниваются по {@link #NAME_ORDER}, при равных названиях — по идентификатору; столбец
+ * {@code attraction.name} в базе имеет правило сортировки {@code "C"}, поэтому запросы к базе
+ * ({@code ORDER BY name, id}) упорядочивают строки так же.
+ * </p>
+ * <p>
+ * Снимок не изменяется: {@link #withChanges} строит новый снимок слиянием неизмененных строк с обновленными.
+ * {@link #getDigest()} — контрольная сумма содержимого (идентификаторы, версии и связи с услугами),
+ * одинаковая для одинаковых данных в любом экземпляре приложения; используется как версия для ETag.
+ * </p>
+ */
+public final class AttractionSnapshot {
+
+    private static final AttractionType[] TYPES = AttractionType.values();
+    private static final int[] NO_POSITIONS = new int[0];
+    private static final long[] NO_IDS = new long[0];
+    private static final Comparator<AttractionDto> ORDER =
+            Comparator.comparing(AttractionDto::getName, AttractionSnapshot::compareNames)
+                    .thenComparing(AttractionDto::getId);
+
+    /**
+     * Порядок названий, совпадающий с {@code COLLATE "C"} в PostgreSQL (побайтовое сравнение UTF-8):
+     * сравнение по кодовым точкам Unicode. {@link String#compareTo} сравнивает кодовые единицы UTF-16
+     * и расходится с ним для символов за пределами BMP.
+     */
+    public static final Comparator<String> NAME_ORDER = AttractionSnapshot::compareNames;
+
+    private final long[] ids;
+    private final String[] names;
+    private final LocalDateTime[] creationDates;
+    private final String[] shortDescriptions;
+    private final byte[] types;
+    private final long[] localityIds;
+    private final long[][] assistanceIds;
+    private final long[] versions;
+    private final int[][] byType;
+    private final Map<Long, int[]> byLocality;
+    private final long digest;
+
+    private AttractionSnapshot(List<AttractionDto> sortedRows) {
+        int size = sortedRows.size();
+        ids = new long[size];
+        names = new String[size];
+        creationDates = new LocalDateTime[size];
+        shortDescriptions = new String[size];
+        types = new byte[size];
+        localityIds = new long[size];
+        assistanceIds = new long[size][];
+        versions = new long[size];
+
+        int[] typeCounts = new int[TYPES.length];
+        Map<Long, Integer> localityCounts = new HashMap<>();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            AttractionDto row = sortedRows.get(i);
+            ids[i] = row.getId();
+            names[i] = row.getName();
+            creationDates[i] = row.getCreationDate();
+            shortDescriptions[i] = row.getShortDescription();
+            types[i] = (byte) AttractionType.valueOf(row.getType().toUpperCase()).ordinal();
+            localityIds[i] = row.getLocalityId();
+            assistanceIds[i] = toArray(row.getAssistanceIds());
+            versions[i] = row.getVersion() != null ? row.getVersion() : 0;
+
+            typeCounts[types[i]]++;
+            localityCounts.merge(localityIds[i], 1, Integer::sum);
+            sum += rowHash(ids[i], versions[i], assistanceIds[i]);
+        }
+        digest = sum;
+
+        byType = new int[TYPES.length][];
+        for (int t = 0; t < TYPES.length; t++) {
+            byType[t] = typeCounts[t] == 0 ? NO_POSITIONS : new int[typeCounts[t]];
+        }
+        Arrays.fill(typeCounts, 0);
+        byLocality = new HashMap<>(localityCounts.size() * 2);
+        localityCounts.forEach((localityId, count) -> byLocality.put(localityId, new int[count]));
+        localityCounts.replaceAll((localityId, count) -> 0);
+        for (int i = 0; i < size; i++) {
+            byType[types[i]][typeCounts[types[i]]++] = i;
+            byLocality.get(localityIds[i])[localityCounts.merge(localityIds[i], 1, Integer::sum) - 1] = i;
+        }
+    }
+
+    /**
+     * Строит снимок из строк в произвольном порядке.
+     */
+    public static AttractionSnapshot of(Collection<AttractionDto> rows) {
+        List<AttractionDto> sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+        return new AttractionSnapshot(sorted);
+    }
+
+    /**
+     * Строит новый снимок с учетом изменений.
+     *
+     * @param changedIds Идентификаторы измененных достопримечательностей.
+     * @param current    Текущее состояние измененных строк; идентификаторы, которых здесь нет, считаются удаленными.
+     * @return Новый снимок; текущий снимок не изменяется.
+     */
+    public AttractionSnapshot withChanges(Set<Long> changedIds, Collection<AttractionDto> current) {
+        List<AttractionDto> updates = new ArrayList<>(current);
+        updates.sort(ORDER);
+
+        List<AttractionDto> merged = new ArrayList<>(ids.length + updates.size());
+        int u = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (changedIds.contains(ids[i])) {
+                continue;
+            }
+            while (u < updates.size() && compare(updates.get(u), i) < 0) {
+                merged.add(updates.get(u++));
+            }
+            merged.add(row(i));
+        }
+        while (u < updates.size()) {
+            merged.add(updates.get(u++));
+        }
+        return new AttractionSnapshot(merged);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long getDigest() {
+        return digest;
+    }
+
+    /**
+     * Возвращает количество достопримечательностей с указанным типом или всех, если тип не задан.
+     */
+    public int count(AttractionType type) {
+        return type != null ? byType[type.ordinal()].length : ids.length;
+    }
+
+    public int countByLocality(Long localityId) {
+        return byLocality.getOrDefault(localityId, NO_POSITIONS).length;
+    }
+
+    /**
+     * Возвращает срез списка в порядке {@code (name, id)} с опциональным фильтром по типу.
+     */
+    public List<AttractionDto> page(AttractionType type, long offset, int size) {
+        return type != null ? slice(byType[type.ordinal()], offset, size) : slice(null, offset, size);
+    }
+
+    /**
+     * Возвращает срез списка достопримечательностей местоположения в порядке {@code (name, id)}.
+     */
+    public List<AttractionDto> pageByLocality(Long localityId, long offset, int size) {
+        return slice(byLocality.getOrDefault(localityId, NO_POSITIONS), offset, size);
+    }
+
+    private List<AttractionDto> slice(int[] positions, long offset, int size) {
+        int length = positions != null ? positions.length : ids.length;
+        if (offset >= length) {
+            return List.of();
+        }
+        int to = (int) Math.min(length, offset + size);
+        List<AttractionDto> content = new ArrayList<>(to - (int) offset);
+        for (int p = (int) offset; p < to; p++) {
+            content.add(row(positions != null ? positions[p] : p));
+        }
+        return content;
+    }
+
+    private AttractionDto row(int i) {
+        AttractionDto dto = new AttractionDto();
+        dto.setId(ids[i]);
+        dto.setName(names[i]);
+        dto.setCreationDate(creationDates[i]);
+        dto.setShortDescription(shortDescriptions[i]);
+        dto.setType(TYPES[types[i]].name());
+        dto.setLocalityId(localityIds[i]);
+        dto.setAssistanceIds(toList(assistanceIds[i]));
+        dto.setVersion(versions[i]);
+        return dto;
+    }
+
+    private int compare(AttractionDto dto, int i) {
+        int byName = compareNames(dto.getName(), names[i]);
+        return byName != 0 ? byName : Long.compare(dto.getId(), ids[i]);
+    }
+
+    private static int compareNames(String left, String right) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int l = left.codePointAt(i);
+            int r = right.codePointAt(j);
+            if (l != r) {
+                return Integer.compare(l, r);
+            }
+            i += Character.charCount(l);
+            j += Character.charCount(r);
+        }
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+
+    private static long[] toArray(List<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return NO_IDS;
+        }
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<Long> toList(long[] values) {
+        return values.length == 0 ? List.of() : Arrays.stream(values).boxed().toList();
+    }
+
+    // Хеш строки складывается в контрольную сумму: сумма не зависит от порядка строк.
+    private static long rowHash(long id, long version, long[] assistanceIds) {
+        long hash = mix(id) ^ mix(version + 0x9E3779B97F4A7C15L);
+        for (long assistanceId : assistanceIds) {
+            hash = mix(hash ^ assistanceId);
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.attractions.snapshot;
+
+import com.example.attractions.config.CatalogSnapshotProperties;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.repository.AttractionChangeRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Загружает и обновляет {@link AttractionSnapshot}.
+ * <p>
+ * При первом запуске снимок загружается целиком. Далее на каждом шаге читаются идентификаторы, измененные
+ * транзакциями между прошлой и текущей границей ленты изменений, и заново читаются только эти строки.
+ * Граница и строки читаются в одной транзакции REPEATABLE READ, поэтому данные соответствуют границе.
+ * Если шаги не выполнялись дольше половины срока хранения ленты, снимок загружается целиком.
+ * </p>
+ * <p>
+ * Длинная пишущая транзакция задерживает границу ленты: изменения, зафиксированные после ее начала,
+ * попадут в снимок после ее завершения.
+ * </p>
+ */
+@Slf4j
+public class AttractionSnapshotRefresher {
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final AttractionChangeRepository attractionChangeRepository;
+    private final TransactionTemplate transaction;
+    private final CatalogSnapshotProperties properties;
+    private final Clock clock;
+
+    private volatile AttractionSnapshot snapshot;
+    private volatile Instant refreshedAt = Instant.MIN;
+    private long watermark;
+
+    public AttractionSnapshotRefresher(CatalogJdbcRepository catalogJdbcRepository,
+                                       AttractionChangeRepository attractionChangeRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       CatalogSnapshotProperties properties) {
+        this(catalogJdbcRepository, attractionChangeRepository, transactionManager, properties, Clock.systemUTC());
+    }
+
+    AttractionSnapshotRefresher(CatalogJdbcRepository catalogJdbcRepository,
+                                AttractionChangeRepository attractionChangeRepository,
+                                PlatformTransactionManager transactionManager,
+                                CatalogSnapshotProperties properties,
+                                Clock clock) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.attractionChangeRepository = attractionChangeRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Возвращает текущий снимок, если он загружен и обновлялся не позднее {@code max-staleness} назад.
+     */
+    public Optional<AttractionSnapshot> current() {
+        AttractionSnapshot current = snapshot;
+        if (current == null || refreshedAt.isBefore(clock.instant().minus(properties.getMaxStaleness()))) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    public void refresh() {
+        try {
+            Instant now = clock.instant();
+            Duration sinceRefresh = Duration.between(refreshedAt, now);
+            if (snapshot == null || sinceRefresh.compareTo(properties.getChangeRetention().dividedBy(2)) > 0) {
+                reload();
+            } else {
+                applyChanges();
+            }
+            refreshedAt = now;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Не удалось обновить снимок каталога: {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        long started = System.nanoTime();
+        transaction.executeWithoutResult(status -> {
+            long mark = attractionChangeRepository.currentWatermark();
+            List<AttractionDto> rows = new ArrayList<>();
+            catalogJdbcRepository.streamAttractions(rows::add);
+            snapshot = AttractionSnapshot.of(rows);
+            watermark = mark;
+        });
+        log.info("Снимок каталога загружен: {} достопримечательностей за {} мс",
+                snapshot.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void applyChanges() {
+        Boolean regressed = transaction.execute(status -> {
+            long mark = attractionChangeRepository.currentWatermark();
+            if (mark < watermark) {
+                log.warn("Граница ленты изменений уменьшилась: {} -> {}", watermark, mark);
+                return true;
+            }
+            if (mark > watermark) {
+                Set<Long> changedIds = attractionChangeRepository.findChangedIds(watermark, mark);
+                if (!changedIds.isEmpty()) {
+                    List<AttractionDto> rows = new ArrayList<>(changedIds.size());
+                    catalogJdbcRepository.streamAttractionsByIds(changedIds, rows::add);
+                    snapshot = snapshot.withChanges(changedIds, rows);
+                    log.debug("Снимок каталога обновлен: изменено {}, всего {}", changedIds.size(), snapshot.size());
+                }
+                watermark = mark;
+            }
+            return false;
+        });
+        // Граница не уменьшается на одной базе; уменьшение означает, например, переключение на другой сервер.
+        if (Boolean.TRUE.equals(regressed)) {
+            reload();
+        }
+    }
+}
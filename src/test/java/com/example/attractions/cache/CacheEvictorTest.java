@@ -0,0 +1,50 @@
+package com.example.attractions.cache;
+
+import com.example.attractions.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CacheEvictorTest {
+
+    private final Cache localities = mock(Cache.class);
+    private final Cache assistances = mock(Cache.class);
+    private final CacheEvictor cacheEvictor = new CacheEvictor(cacheManager());
+
+    private CacheManager cacheManager() {
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.LOCALITIES)).thenReturn(localities);
+        when(cacheManager.getCache(CacheConfig.ASSISTANCES)).thenReturn(assistances);
+        return cacheManager;
+    }
+
+    @Test
+    void testEvictionsWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheEvictor.evict(CacheConfig.LOCALITIES, 1L);
+            cacheEvictor.clear(CacheConfig.LOCALITIES, CacheConfig.ASSISTANCES);
+            verify(localities, never()).evict(any());
+            verify(localities, never()).clear();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(localities).evict(1L);
+        verify(localities).clear();
+        verify(assistances).clear();
+    }
+
+    @Test
+    void testEvictsImmediatelyWithoutTransaction() {
+        cacheEvictor.evict(CacheConfig.ASSISTANCES, 2L);
+
+        verify(assistances).evict(2L);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.attractions.config;
+
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.AssistanceType;
+import com.example.attractions.model.Attraction;
+import com.example.attractions.model.AttractionType;
+import com.example.attractions.model.Locality;
+import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.service.AttractionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что повторные чтения местоположений с услугами и количества достопримечательностей по типу
+ * обслуживаются кэшем второго уровня без SQL-запросов, а изменения в обход Hibernate сбрасывают кэш.
+ * Периодическая проверка версий таблиц отключена: тест вызывает ее сам.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.hibernate-cache.invalidation-interval=1h")
+class HibernateCacheIntegrationTest {
+
+    private static final int LOCALITIES = 5;
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("test")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private LocalityRepository localityRepository;
+
+    @Autowired
+    private AssistanceRepository assistanceRepository;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionService attractionService;
+
+    @Autowired
+    private HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Statistics statistics;
+    private List<Long> localityIds;
+
+    @BeforeEach
+    void setUp() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        localityIds = new TransactionTemplate(transactionManager).execute(status -> {
+            Assistance guide = new Assistance();
+            guide.setType(AssistanceType.GUIDE);
+            Assistance catering = new Assistance();
+            catering.setType(AssistanceType.CATERING);
+            List<Assistance> assistances = assistanceRepository.saveAll(List.of(guide, catering));
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < LOCALITIES; i++) {
+                Locality locality = new Locality();
+                locality.setName("Locality " + i);
+                locality.setRegion("Region");
+                locality.setAssistanceList(new ArrayList<>(assistances));
+                ids.add(localityRepository.save(locality).getId());
+            }
+            return ids;
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Map<Long, List<Long>> loadLocalityAssistances() {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, List<Long>> assistanceIds = new LinkedHashMap<>();
+            localityRepository.findAllById(localityIds).forEach(locality -> assistanceIds.put(locality.getId(),
+                    locality.getAssistanceList().stream().map(Assistance::getId).toList()));
+            return assistanceIds;
+        });
+    }
+
+    @Test
+    void testRepeatedPageLoadReadsAssociationsFromCache() {
+        Map<Long, List<Long>> first = loadLocalityAssistances();
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+
+        statistics.clear();
+        Map<Long, List<Long>> second = loadLocalityAssistances();
+
+        assertEquals(first, second);
+        second.values().forEach(ids -> assertEquals(2, ids.size()));
+        // только запрос страницы; списки услуг и сами услуги берутся из кэша
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(LOCALITIES, statistics.getCollectionStatistics(
+                Locality.class.getName() + ".assistanceList").getCacheHitCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+
+        statistics.clear();
+        readOnlyTransaction.executeWithoutResult(status ->
+                localityRepository.findById(localityIds.get(0)).orElseThrow().getAssistanceList().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testChangesOnAnotherInstanceAreEvictedByPoll() {
+        loadLocalityAssistances();
+        hibernateCacheInvalidator.poll();
+        jdbcTemplate.update("DELETE FROM locality_assistance WHERE locality_id = ?", localityIds.get(0));
+
+        assertEquals(2, loadLocalityAssistances().get(localityIds.get(0)).size());
+        hibernateCacheInvalidator.poll();
+
+        assertEquals(0, loadLocalityAssistances().get(localityIds.get(0)).size());
+    }
+
+    @Test
+    void testRepeatedTypeFilteredPageReusesCachedCount() {
+        List<AttractionDto> created = new TransactionTemplate(transactionManager).execute(status -> {
+            List<AttractionDto> dtos = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Attraction attraction = new Attraction();
+                attraction.setName("Reserve " + i);
+                attraction.setType(AttractionType.RESERVE);
+                attraction.setLocality(localityRepository.getReferenceById(localityIds.get(0)));
+                attraction = attractionRepository.save(attraction);
+                AttractionDto dto = new AttractionDto();
+                dto.setId(attraction.getId());
+                dto.setVersion(attraction.getVersion());
+                dtos.add(dto);
+            }
+            return dtos;
+        });
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("name"));
+        attractionService.getAllAttractions("reserve", pageable);
+
+        statistics.clear();
+        Page<AttractionDto> page = attractionService.getAllAttractions("reserve", pageable);
+
+        assertEquals(3, page.getTotalElements());
+        // страница + идентификаторы услуг; количество берется из кэша запросов
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        AttractionDto patch = new AttractionDto();
+        patch.setType("PARK");
+        patch.setVersion(created.get(0).getVersion());
+        attractionService.patchAttraction(created.get(0).getId(), patch);
+
+        assertEquals(2, attractionService.getAllAttractions("reserve", pageable).getTotalElements());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.attractions.config;
+
+import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.service.LocalityService;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет маршрутизацию read-only транзакций на реплику. Репликации между контейнерами нет:
+ * второй контейнер с той же схемой изображает реплику, поэтому данные, записанные в основную базу,
+ * при чтении не видны, а данные, вставленные напрямую в реплику, — видны.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReplicaRoutingIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("primary")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @Container
+    public static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("replica")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.datasource.replica.jdbc-url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void createReplicaSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())) {
+            new Liquibase("db/changelog/db.changelog-master.xml", new ClassLoaderResourceAccessor(),
+                    new JdbcConnection(connection)).update(new Contexts());
+        }
+    }
+
+    @Autowired
+    private LocalityService localityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testTransactionsAreRoutedByReadOnlyFlag() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertEquals("primary", readWrite.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class)));
+        assertEquals("replica", readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class)));
+    }
+
+    @Test
+    void testServiceReadsGoToReplicaAndWritesToPrimary() {
+        LocalityDto dto = new LocalityDto();
+        dto.setName("Primary Only");
+        dto.setRegion("Region");
+        LocalityDto saved = localityService.addLocality(dto);
+
+        new JdbcTemplate(replicaDataSource()).update(
+                "INSERT INTO locality (id, name, region) VALUES (?, 'Replica Only', 'Region')", saved.getId() + 1000);
+
+        List<String> names = localityService.getAllLocalities(PageRequest.of(0, 10)).stream()
+                .map(LocalityDto::getName)
+                .toList();
+        assertEquals(List.of("Replica Only"), names);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM locality WHERE name = 'Primary Only'", Integer.class));
+    }
+
+    private static DriverManagerDataSource replicaDataSource() {
+        return new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+    }
+}
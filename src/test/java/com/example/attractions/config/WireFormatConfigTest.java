@@ -0,0 +1,38 @@
+package com.example.attractions.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WireFormatConfigTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExtendMessageConverters_BinaryFormatsFollowJson() {
+        ObjectProvider<Jackson2ObjectMapperBuilder> builder = mock(ObjectProvider.class);
+        when(builder.getObject()).thenAnswer(invocation -> Jackson2ObjectMapperBuilder.json());
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new StringHttpMessageConverter(),
+                new MappingJackson2HttpMessageConverter(),
+                new MappingJackson2CborHttpMessageConverter()));
+
+        new WireFormatConfig(builder).extendMessageConverters(converters);
+
+        assertEquals(4, converters.size());
+        assertInstanceOf(StringHttpMessageConverter.class, converters.get(0));
+        assertInstanceOf(MappingJackson2HttpMessageConverter.class, converters.get(1));
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(2));
+        assertInstanceOf(MappingJackson2SmileHttpMessageConverter.class, converters.get(3));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.attractions.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalResponsesTest {
+
+    private ConditionalResponses conditionalResponses;
+    private MockHttpServletRequest request;
+    private AtomicInteger bodyCalls;
+
+    @BeforeEach
+    void setUp() {
+        conditionalResponses = new ConditionalResponses(
+                CacheControl.maxAge(Duration.ZERO).sMaxAge(Duration.ofSeconds(60)).cachePublic());
+        request = new MockHttpServletRequest("GET", "/localities/1");
+        bodyCalls = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> respond(String version) {
+        return conditionalResponses.ifNoneMatch(new ServletWebRequest(request), version, () -> {
+            bodyCalls.incrementAndGet();
+            return "body";
+        });
+    }
+
+    @Test
+    void testIfNoneMatch_NoHeader() {
+        ResponseEntity<String> response = respond("3.7");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals("W/\"3.7\"", response.getHeaders().getETag());
+        assertEquals("max-age=0, public, s-maxage=60", response.getHeaders().getCacheControl());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        assertEquals(1, bodyCalls.get());
+    }
+
+    @Test
+    void testNoContent_ETagMatchesGet() {
+        ResponseEntity<Void> response = conditionalResponses.noContent("3.7");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals(respond("3.7").getHeaders().getETag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void testIfNoneMatch_Matches() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.1\", W/\"3.7\"");
+
+        ResponseEntity<String> response = respond("3.7");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("W/\"3.7\"", response.getHeaders().getETag());
+        assertEquals("max-age=0, public, s-maxage=60", response.getHeaders().getCacheControl());
+        assertEquals(0, bodyCalls.get());
+    }
+
+    @Test
+    void testIfNoneMatch_StrongTagMatchesWeakly() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3.7\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respond("3.7").getStatusCode());
+    }
+
+    @Test
+    void testIfNoneMatch_Wildcard() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respond("3.7").getStatusCode());
+    }
+
+    @Test
+    void testIfNoneMatch_Changed() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"3.6\"");
+
+        ResponseEntity<String> response = respond("3.7");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, bodyCalls.get());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.attractions.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementCountFilter filter;
+    private StatementCountingInspector inspector;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementCountFilter(meterRegistry);
+        inspector = new StatementCountingInspector();
+        request = new MockHttpServletRequest("GET", "/attractions");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/attractions");
+    }
+
+    @Test
+    void testRecordsStatementsOfRequestThread() throws Exception {
+        inspector.inspect("select 0");
+        FilterChain chain = (req, res) -> {
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        DistributionSummary summary = meterRegistry.get(StatementCountFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/attractions")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void testSkipsAsyncRequests() throws Exception {
+        request.setAsyncSupported(true);
+        FilterChain chain = (req, res) -> {
+            inspector.inspect("select 1");
+            request.startAsync();
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(meterRegistry.find(StatementCountFilter.METRIC_NAME).summary());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.attractions.outbox;
+
+import com.example.attractions.config.OutboxProperties;
+import com.example.attractions.dto.ChangeEventDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.repository.ChangeEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChangeEventRelayTest {
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryChangeEventSink sink;
+
+    private ChangeEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        sink = new InMemoryChangeEventSink(3);
+        relay = new ChangeEventRelay(changeEventRepository, sink, transactionManager, properties);
+    }
+
+    private static List<ChangeEventDto> events(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(seq -> new ChangeEventDto(seq, EntityType.LOCALITY, seq, Operation.CREATED, 0L, null))
+                .toList();
+    }
+
+    @Test
+    void testRelayDrainsBatchesInOrder() {
+        when(changeEventRepository.tryLockRelay()).thenReturn(true);
+        when(changeEventRepository.publishPending(2)).thenReturn(events(1, 2), events(3, 4), events(5, 5));
+
+        relay.relay();
+
+        assertEquals(List.of(3L, 4L, 5L), sink.getEvents().stream().map(ChangeEventDto::getSeq).toList());
+        verify(changeEventRepository, times(3)).publishPending(2);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testRelaySkipsWhenLockedAndRollsBackOnSinkFailure() {
+        when(changeEventRepository.tryLockRelay()).thenReturn(false);
+        relay.relay();
+        verify(changeEventRepository, never()).publishPending(anyInt());
+
+        ChangeEventSink failing = events -> {
+            throw new IllegalStateException("sink down");
+        };
+        OutboxProperties properties = new OutboxProperties();
+        relay = new ChangeEventRelay(changeEventRepository, failing, transactionManager, properties);
+        when(changeEventRepository.tryLockRelay()).thenReturn(true);
+        when(changeEventRepository.publishPending(anyInt())).thenReturn(events(1, 1));
+
+        relay.relay();
+
+        verify(transactionManager).rollback(any());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.attractions.repository;
+
+import com.example.attractions.model.AttractionType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет планы запросов горячих путей на объеме, близком к боевому:
+ * запросы должны использовать индексы и не содержать узла сортировки.
+ * <p>
+ * Проверяется SQL, сгенерированный Hibernate для методов репозитория: он перехватывается инспектором
+ * запросов, подготавливается через {@code PREPARE} и объясняется через {@code EXPLAIN EXECUTE}
+ * с теми же значениями параметров.
+ * </p>
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AttractionQueryPlanIntegrationTest {
+
+    private static final int ATTRACTIONS = 1_000_000;
+    private static final int LOCALITIES = 10_000;
+    private static final int ASSISTANCES = 1_000;
+
+    // Сортировка, с которой сервис обращается к репозиторию (см. AttractionServiceImpl#stableOrder).
+    private static final Sort ORDER = Sort.by("name", "id");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static boolean seeded;
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("test")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO locality (id, name, region) "
+                + "SELECT i, 'Locality ' || i, 'Region ' || (i % 85) FROM generate_series(1, " + LOCALITIES + ") i");
+        jdbcTemplate.execute("INSERT INTO assistance (id, type) "
+                + "SELECT i, (ARRAY['GUIDE', 'CAR_TOUR', 'CATERING'])[i % 3 + 1] FROM generate_series(1, " + ASSISTANCES + ") i");
+        jdbcTemplate.execute("INSERT INTO attraction (id, name, type, locality_id) "
+                + "SELECT i, md5(i::text), "
+                + "(ARRAY['PALACE', 'PARK', 'MUSEUM', 'ARCHAEOLOGICAL_SITE', 'RESERVE'])[i % 5 + 1], "
+                + "i % " + LOCALITIES + " + 1 FROM generate_series(1, " + ATTRACTIONS + ") i");
+        jdbcTemplate.execute("INSERT INTO attraction_assistance (attraction_id, assistance_id) "
+                + "SELECT i, i % " + ASSISTANCES + " + 1 FROM generate_series(1, " + ATTRACTIONS + ") i");
+        jdbcTemplate.execute("INSERT INTO locality_assistance (locality_id, assistance_id) "
+                + "SELECT i, i % " + ASSISTANCES + " + 1 FROM generate_series(1, " + LOCALITIES + ") i");
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void testFindAllSortedByNameUsesIndex() {
+        String sql = captureFirst(() -> attractionRepository.findAll(PageRequest.of(10, 10, ORDER)));
+        assertIndexScanWithoutSort(sql, 100, 10);
+    }
+
+    @Test
+    void testFindAllByTypeUsesIndex() {
+        String sql = captureFirst(() ->
+                attractionRepository.findByType(AttractionType.MUSEUM, PageRequest.of(10, 10, ORDER)));
+        assertIndexScanWithoutSort(sql, "MUSEUM", 100, 10);
+    }
+
+    @Test
+    void testFindByLocalityIdUsesIndex() {
+        String sql = captureFirst(() -> attractionRepository.findByLocalityId(42L, PageRequest.of(1, 10, ORDER)));
+        assertIndexScanWithoutSort(sql, 42, 10, 10);
+    }
+
+    @Test
+    void testKeysetPageByTypeUsesIndex() {
+        String sql = captureFirst(() -> attractionRepository.findKeysetPageByTypeAfter(
+                AttractionType.PARK, "8", 500_000L, Limit.of(10)));
+        assertIndexScanWithoutSort(sql, "PARK", "8", "8", 500_000, 10);
+    }
+
+    @Test
+    void testAssistanceReverseLookupsUseIndex() {
+        assertIndexScanWithoutSort("SELECT attraction_id FROM attraction_assistance WHERE assistance_id = ?", 7);
+        assertIndexScanWithoutSort("SELECT locality_id FROM locality_assistance WHERE assistance_id = ?", 7);
+    }
+
+    /**
+     * Выполняет запрос через репозиторий и возвращает первый сгенерированный Hibernate SQL-запрос
+     * (запрос страницы; подсчет, если он есть, выполняется после него).
+     */
+    private String captureFirst(Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        assertFalse(STATEMENTS.isEmpty(), "Запрос не выполнялся");
+        return STATEMENTS.get(0);
+    }
+
+    /**
+     * Объясняет параметризованный запрос с подставленными значениями параметров.
+     */
+    private void assertIndexScanWithoutSort(String sql, Object... parameters) {
+        // JDBC-параметры "?" заменяются на позиционные параметры PREPARE: $1, $2, ...
+        StringBuilder prepared = new StringBuilder();
+        int placeholders = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++placeholders);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertEquals(parameters.length, placeholders, "Число параметров запроса:\n" + sql);
+        String arguments = Stream.of(parameters)
+                .map(p -> p instanceof String ? "'" + p + "'" : p.toString())
+                .collect(Collectors.joining(", "));
+
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PREPARE plan_check AS " + prepared);
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE plan_check(" + arguments + ")")) {
+                    List<String> lines = new ArrayList<>();
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                    return String.join("\n", lines);
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                }
+            }
+        });
+
+        assertTrue(plan.contains("Index"), "Ожидалось использование индекса:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), "Полное сканирование таблицы:\n" + plan);
+        assertFalse(plan.contains("Sort"), "Неожиданная сортировка:\n" + plan);
+    }
+}
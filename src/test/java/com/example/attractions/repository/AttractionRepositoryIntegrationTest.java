@@ -1,20 +1,33 @@
 package com.example.attractions.repository;
 
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.AssistanceType;
 import com.example.attractions.model.Attraction;
 import com.example.attractions.model.AttractionType;
 import com.example.attractions.model.Locality;
+import com.example.attractions.repository.projection.NearbyId;
+import com.example.attractions.repository.projection.RankedId;
+import com.example.attractions.snapshot.AttractionSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @Testcontainers
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AttractionFacetRepository.class)
 class AttractionRepositoryIntegrationTest {
 
     @Container
@@ -36,6 +50,12 @@ class AttractionRepositoryIntegrationTest {
     @Autowired
     private LocalityRepository localityRepository;
 
+    @Autowired
+    private AssistanceRepository assistanceRepository;
+
+    @Autowired
+    private AttractionFacetRepository attractionFacetRepository;
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
@@ -75,4 +95,147 @@ class AttractionRepositoryIntegrationTest {
         Attraction found = attractions.getContent().get(0);
         assertNotNull(found.getCreationDate(), "creationDate должно быть установлено автоматически");
     }
+
+    @Test
+    void testFindKeysetPageByLocalityIdAfter() {
+        Attraction second = new Attraction();
+        second.setName("Attraction 2");
+        second.setLocality(locality);
+        second.setType(AttractionType.PARK);
+        attractionRepository.save(second);
+
+        List<Attraction> firstPage = attractionRepository.findFirstKeysetPageByLocalityId(locality.getId(), Limit.of(1));
+        assertEquals(1, firstPage.size());
+        assertEquals("Attraction 1", firstPage.get(0).getName());
+
+        Attraction last = firstPage.get(0);
+        List<Attraction> nextPage = attractionRepository.findKeysetPageByLocalityIdAfter(
+                locality.getId(), last.getName(), last.getId(), Limit.of(10));
+        assertEquals(1, nextPage.size());
+        assertEquals("Attraction 2", nextPage.get(0).getName());
+    }
+
+    @Test
+    void testFindWithinRadiusAndNearest() {
+        Locality moscow = createLocality("Moscow", 55.7558, 37.6173);
+        Locality podolsk = createLocality("Podolsk", 55.4312, 37.5459);
+        Locality kazan = createLocality("Kazan", 55.7961, 49.1064);
+        Attraction kremlin = createAttraction("Kremlin", moscow, AttractionType.PALACE);
+        Attraction estate = createAttraction("Estate", podolsk, AttractionType.PARK);
+        createAttraction("Kazan Kremlin", kazan, AttractionType.PALACE);
+
+        List<NearbyId> withinRadius = attractionRepository.findWithinRadius(55.75, 37.62, 50_000, null, 10);
+        assertEquals(List.of(kremlin.getId(), estate.getId()), withinRadius.stream().map(NearbyId::getId).toList());
+        assertTrue(withinRadius.get(0).getDistanceKm() < 1);
+        assertTrue(withinRadius.get(1).getDistanceKm() < 50);
+
+        List<NearbyId> parks = attractionRepository.findWithinRadius(55.75, 37.62, 50_000, "PARK", 10);
+        assertEquals(List.of(estate.getId()), parks.stream().map(NearbyId::getId).toList());
+
+        List<NearbyId> nearest = attractionRepository.findNearest(55.79, 49.10, "PALACE", 1);
+        assertEquals(1, nearest.size());
+        assertNotEquals(kremlin.getId(), nearest.get(0).getId());
+    }
+
+    @Test
+    void testSearchMatchesTextFuzzyAndLocality() {
+        Locality suzdal = createLocality("Суздаль", 56.42, 40.44);
+        Attraction museum = createAttraction("Музей деревянного зодчества", suzdal, AttractionType.MUSEUM);
+        museum.setShortDescription("Старинные церкви и избы под открытым небом");
+        attractionRepository.saveAndFlush(museum);
+        Attraction palace = createAttraction("Palace of Soviets", locality, AttractionType.PALACE);
+
+        assertEquals(List.of(museum.getId()), ids(attractionRepository.search("церкви", "церкви%", 10)));
+        assertEquals(List.of(museum.getId()), ids(attractionRepository.search("Суздаль", "Суздаль%", 10)));
+        assertEquals(List.of(palace.getId()), ids(attractionRepository.search("Palase of Soviet", "Palase of Soviet%", 10)));
+        assertEquals(List.of(palace.getId()), ids(attractionRepository.search("Pal", "Pal%", 10)));
+        // префикс кириллицей в другом регистре: ILIKE по правилу базы, а не "C"
+        assertEquals(List.of(museum.getId()), ids(attractionRepository.search("муз", "муз%", 10)));
+    }
+
+    @Test
+    void testNameOrderMatchesSnapshot() {
+        Locality owner = createLocality("Names", 55.0, 37.0);
+        List<AttractionDto> rows = new ArrayList<>();
+        for (String name : List.of("Ёлка", "ёлка", "Елка", "елка", "Кремль", "Кремль", "Парк 10", "Парк 9",
+                "Apple", "apple", "Ärger", "Zebra", "a b", "a-b", "ab", "\uFF21 Парк", "\uD83C\uDF32 Лес")) {
+            Attraction created = createAttraction(name, owner, AttractionType.PARK);
+            AttractionDto row = new AttractionDto();
+            row.setId(created.getId());
+            row.setName(name);
+            row.setType(AttractionType.PARK.name());
+            row.setLocalityId(owner.getId());
+            rows.add(row);
+        }
+        List<Long> snapshotOrder = AttractionSnapshot.of(rows).pageByLocality(owner.getId(), 0, rows.size()).stream()
+                .map(AttractionDto::getId)
+                .toList();
+
+        List<Long> pageOrder = attractionRepository.findByLocalityId(owner.getId(),
+                        PageRequest.of(0, rows.size(), Sort.by("name", "id"))).stream()
+                .map(Attraction::getId)
+                .toList();
+        List<Long> keysetOrder = attractionRepository.findFirstKeysetPageByLocalityId(owner.getId(), Limit.of(rows.size()))
+                .stream()
+                .map(Attraction::getId)
+                .toList();
+
+        assertEquals(snapshotOrder, pageOrder);
+        assertEquals(snapshotOrder, keysetOrder);
+    }
+
+    @Test
+    void testCountFacetsGroupsByTypeRegionAndAssistance() {
+        Assistance guide = createAssistance(AssistanceType.GUIDE);
+        Assistance secondGuide = createAssistance(AssistanceType.GUIDE);
+        Assistance catering = createAssistance(AssistanceType.CATERING);
+        Locality other = createLocality("Locality 2", 55.0, 37.0);
+        Attraction park = createAttraction("Park", other, AttractionType.PARK);
+        park.setAssistanceList(List.of(guide, secondGuide, catering));
+        Attraction museum = createAttraction("Museum", other, AttractionType.MUSEUM);
+        museum.setAssistanceList(List.of(guide));
+        attractionRepository.saveAllAndFlush(List.of(park, museum));
+
+        AttractionFacetsDto all = attractionFacetRepository.countFacets(null, null, null);
+        assertEquals(3, all.getTotal());
+        assertEquals(Map.of("PALACE", 0L, "PARK", 1L, "MUSEUM", 2L, "ARCHAEOLOGICAL_SITE", 0L, "RESERVE", 0L),
+                all.getTypes());
+        assertEquals(List.of("Region", "Region 1"), List.copyOf(all.getRegions().keySet()));
+        assertEquals(Map.of("Region", 2L, "Region 1", 1L), all.getRegions());
+        // две услуги GUIDE одной достопримечательности учитываются один раз
+        assertEquals(Map.of("GUIDE", 2L, "CAR_TOUR", 0L, "CATERING", 1L), all.getAssistances());
+
+        AttractionFacetsDto filtered = attractionFacetRepository.countFacets(
+                AttractionType.PARK, "Region", AssistanceType.GUIDE);
+        assertEquals(1, filtered.getTotal());
+        assertEquals(Map.of("Region", 1L), filtered.getRegions());
+        assertEquals(Map.of("GUIDE", 1L, "CAR_TOUR", 0L, "CATERING", 1L), filtered.getAssistances());
+    }
+
+    private static List<Long> ids(List<RankedId> ranked) {
+        return ranked.stream().map(RankedId::getId).toList();
+    }
+
+    private Locality createLocality(String name, double latitude, double longitude) {
+        Locality created = new Locality();
+        created.setName(name);
+        created.setRegion("Region");
+        created.setLatitude(latitude);
+        created.setLongitude(longitude);
+        return localityRepository.save(created);
+    }
+
+    private Assistance createAssistance(AssistanceType type) {
+        Assistance created = new Assistance();
+        created.setType(type);
+        return assistanceRepository.save(created);
+    }
+
+    private Attraction createAttraction(String name, Locality owner, AttractionType type) {
+        Attraction created = new Attraction();
+        created.setName(name);
+        created.setLocality(owner);
+        created.setType(type);
+        return attractionRepository.saveAndFlush(created);
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.attractions.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что пишущие транзакции не ждут друг друга из-за версий таблиц,
+ * а версии растут при каждом изменении и не меняются при свертке журнала.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TableVersionRepository.class)
+class TableVersionRepositoryIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("test")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private TableVersionRepository tableVersionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testConcurrentWritersDoNotWaitAndVersionsSurviveCompaction() throws SQLException {
+        long before = tableVersionRepository.sumVersions(TableVersionRepository.LOCALITY);
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement firstStatement = first.createStatement(); Statement secondStatement = second.createStatement()) {
+                firstStatement.execute("INSERT INTO locality (id, name, region) VALUES (9001, 'Первое', 'Регион')");
+                // со строкой-счетчиком вторая вставка ждала бы фиксации первой транзакции
+                secondStatement.execute("SET LOCAL lock_timeout = '1s'");
+                secondStatement.execute("INSERT INTO locality (id, name, region) VALUES (9002, 'Второе', 'Регион')");
+            }
+            second.commit();
+            first.commit();
+        }
+
+        assertEquals(before + 2, tableVersionRepository.sumVersions(TableVersionRepository.LOCALITY));
+
+        tableVersionRepository.compact();
+
+        assertEquals(before + 2, tableVersionRepository.sumVersions(TableVersionRepository.LOCALITY));
+        assertEquals(before + 2, tableVersionRepository.findVersions().get(TableVersionRepository.LOCALITY));
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
 import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.AssistanceMapper;
 import com.example.attractions.model.Assistance;
 import com.example.attractions.model.AssistanceType;
 import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,8 +22,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +40,21 @@ class AssistanceServiceImplTest {
     @Mock
     private AssistanceMapper assistanceMapper;
 
+    @Mock
+    private PatchJdbcRepository patchJdbcRepository;
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    @Mock
+    private CacheEvictor cacheEvictor;
+
     @InjectMocks
     private AssistanceServiceImpl assistanceService;
 
@@ -78,12 +103,22 @@ class AssistanceServiceImplTest {
     @Test
     void testDeleteAssistance() {
         when(assistanceRepository.existsById(1L)).thenReturn(true);
+        when(catalogJdbcRepository.incrementAttractionVersionsByAssistance(1L)).thenReturn(Map.of(30L, 2L));
+        when(catalogJdbcRepository.incrementLocalityVersionsByAssistance(1L)).thenReturn(Map.of(20L, 5L));
         doNothing().when(assistanceRepository).deleteById(1L);
 
         assistanceService.deleteAssistance(1L);
 
         verify(assistanceRepository, times(1)).existsById(1L);
         verify(assistanceRepository, times(1)).deleteById(1L);
+        verify(changeEventRepository).append(EntityType.ASSISTANCE, Operation.DELETED, 1L, null);
+        verify(changeEventRepository).appendAll(EntityType.ATTRACTION, Operation.UPDATED, Map.of(30L, 2L));
+        verify(changeEventRepository).appendAll(EntityType.LOCALITY, Operation.UPDATED, Map.of(20L, 5L));
+        verify(hibernateCacheInvalidator).evictLocalityAssistances();
+        verify(hibernateCacheInvalidator).evictLocality(20L);
+        verify(hibernateCacheInvalidator).evictAttractionQueries();
+        verify(cacheEvictor).evict(CacheConfig.ASSISTANCES, 1L);
+        verify(cacheEvictor).clear(CacheConfig.LOCALITIES);
     }
 
     @Test
@@ -96,6 +131,7 @@ class AssistanceServiceImplTest {
         assertEquals("Assistance not found with ID: 1", exception.getMessage());
         verify(assistanceRepository, times(1)).existsById(1L);
         verify(assistanceRepository, times(0)).deleteById(anyLong());
+        verifyNoInteractions(catalogJdbcRepository);
     }
 
     @Test
@@ -118,4 +154,15 @@ class AssistanceServiceImplTest {
         assertEquals(1, result.getTotalElements());
         verify(assistanceRepository, times(1)).findAll(pageable);
     }
+
+    @Test
+    void testUpdateAssistance_StaleVersion() {
+        assistance.setVersion(5L);
+        assistanceDto.setVersion(4L);
+        when(assistanceRepository.findById(1L)).thenReturn(Optional.of(assistance));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> assistanceService.updateAssistance(1L, assistanceDto));
+        verify(assistanceRepository, never()).save(any(Assistance.class));
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.jdbc.ExportConnectionPool;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.service.AttractionExportService.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AttractionExportServiceImplTest {
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private ExportConnectionPool exportConnectionPool;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private AttractionExportServiceImpl attractionExportService;
+
+    private AttractionDto kremlin;
+    private AttractionDto hermitage;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        attractionExportService = new AttractionExportServiceImpl(exportConnectionPool, objectMapper);
+        doAnswer(invocation -> {
+            invocation.<Consumer<CatalogJdbcRepository>>getArgument(0).accept(catalogJdbcRepository);
+            return null;
+        }).when(exportConnectionPool).readOnly(any());
+
+        kremlin = new AttractionDto();
+        kremlin.setId(1L);
+        kremlin.setName("Кремль");
+        kremlin.setCreationDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        kremlin.setShortDescription("Крепость, \"сердце\" Москвы");
+        kremlin.setType("PALACE");
+        kremlin.setLocalityId(10L);
+        kremlin.setAssistanceIds(List.of(2L, 3L));
+
+        hermitage = new AttractionDto();
+        hermitage.setId(2L);
+        hermitage.setName("Эрмитаж");
+        hermitage.setType("MUSEUM");
+        hermitage.setLocalityId(20L);
+        hermitage.setAssistanceIds(List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(AttractionDto... rows) {
+        doAnswer(invocation -> {
+            Consumer<AttractionDto> consumer = invocation.getArgument(0);
+            for (AttractionDto row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(catalogJdbcRepository).streamAttractions(any(Consumer.class));
+    }
+
+    @Test
+    void testExportAttractions_Ndjson() throws Exception {
+        stubRows(kremlin, hermitage);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = attractionExportService.exportAttractions(ExportFormat.NDJSON, output);
+
+        assertEquals(2, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        AttractionDto first = objectMapper.readValue(lines[0], AttractionDto.class);
+        assertEquals("Кремль", first.getName());
+        assertEquals(10L, first.getLocalityId());
+        assertEquals(List.of(2L, 3L), first.getAssistanceIds());
+        assertEquals("Эрмитаж", objectMapper.readValue(lines[1], AttractionDto.class).getName());
+        verify(exportConnectionPool).readOnly(any());
+    }
+
+    @Test
+    void testExportAttractions_Csv() {
+        stubRows(kremlin, hermitage);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = attractionExportService.exportAttractions(ExportFormat.CSV, output);
+
+        assertEquals(2, count);
+        assertEquals(AttractionExportServiceImpl.CSV_HEADER + "\r\n"
+                        + "1,Кремль,2024-01-01T12:00,\"Крепость, \"\"сердце\"\" Москвы\",PALACE,10,2;3\r\n"
+                        + "2,Эрмитаж,,,MUSEUM,20,\r\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportFormat_Unsupported() {
+        assertThrows(BadRequestException.class, () -> ExportFormat.fromExtension("xml"));
+        assertEquals(ExportFormat.CSV, ExportFormat.fromExtension("CSV"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.ImportErrorDto;
+import com.example.attractions.dto.ImportReportDto;
+import com.example.attractions.mapper.AttractionMapperImpl;
+import com.example.attractions.model.Attraction;
+import com.example.attractions.model.Locality;
+import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.repository.LocalityRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class AttractionImportServiceImplTest {
+
+    @Mock
+    private AttractionRepository attractionRepository;
+
+    @Mock
+    private LocalityRepository localityRepository;
+
+    @Mock
+    private AssistanceRepository assistanceRepository;
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private AttractionImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importService = new AttractionImportServiceImpl(attractionRepository, localityRepository, assistanceRepository,
+                changeEventRepository, new AttractionMapperImpl(), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate, entityManager);
+
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(localityRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L));
+        when(localityRepository.getReferenceById(1L)).thenReturn(new Locality());
+    }
+
+    @Test
+    void testImportNdjson_ReportsRowErrors() {
+        String ndjson = """
+                {"name":"Museum","type":"museum","localityId":1}
+                {"name":"Park","type":"UNKNOWN","localityId":1}
+                {"name":"Palace","type":"PALACE","localityId":2}
+                {"type":"PARK","localityId":1}
+                """;
+
+        ImportReportDto report = importService.importAttractions(stream(ndjson));
+
+        assertEquals(4, report.getTotal());
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(2L, 3L, 4L), report.getErrors().stream().map(ImportErrorDto::getRow).toList());
+        assertEquals("Locality not found with ID: 2", report.getErrors().get(1).getMessage());
+
+        ArgumentCaptor<List<Attraction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(attractionRepository, times(1)).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        verify(localityRepository, times(1)).findExistingIds(Set.of(1L, 2L));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void testImportJsonArray_SplitsIntoChunks() {
+        StringBuilder json = new StringBuilder("[");
+        int rows = AttractionImportServiceImpl.CHUNK_SIZE + 1;
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Attraction ").append(i).append("\",\"type\":\"PARK\",\"localityId\":1}");
+        }
+        json.append(']');
+
+        ImportReportDto report = importService.importAttractions(stream(json.toString()));
+
+        assertEquals(rows, report.getTotal());
+        assertEquals(rows, report.getImported());
+        assertEquals(0, report.getFailed());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(localityRepository, times(2)).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void testImportChunkFailure_ReportsStableReason() {
+        when(attractionRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [ERROR: duplicate key value violates unique constraint]"));
+        String ndjson = """
+                {"name":"Museum","type":"MUSEUM","localityId":1}
+                {"name":"Park","type":"PARK","localityId":1}
+                """;
+
+        ImportReportDto report = importService.importAttractions(stream(ndjson));
+
+        assertEquals(0, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(AttractionImportServiceImpl.CHUNK_ROLLED_BACK, AttractionImportServiceImpl.CHUNK_ROLLED_BACK),
+                report.getErrors().stream().map(ImportErrorDto::getMessage).toList());
+    }
+
+    @Test
+    void testImportMalformedInput_StopsAtBrokenRecord() {
+        String ndjson = """
+                {"name":"Museum","type":"MUSEUM","localityId":1}
+                {"name":"Broken",
+                """;
+
+        ImportReportDto report = importService.importAttractions(stream(ndjson));
+
+        assertEquals(2, report.getTotal());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed input"));
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,27 +1,60 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
 import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.AttractionFacetsDto;
+import com.example.attractions.dto.AttractionSearchResultDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.dto.CursorPageDto;
+import com.example.attractions.dto.NearbyAttractionDto;
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.AttractionMapper;
+import com.example.attractions.model.AssistanceType;
 import com.example.attractions.model.Attraction;
 import com.example.attractions.model.AttractionType;
 import com.example.attractions.model.Locality;
+import com.example.attractions.pagination.KeysetCursor;
+import com.example.attractions.repository.AttractionFacetRepository;
 import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.ChangeEventRepository;
 import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.RowEstimateRepository;
+import com.example.attractions.repository.projection.IdLink;
+import com.example.attractions.repository.projection.NearbyId;
+import com.example.attractions.repository.projection.RankedId;
+import com.example.attractions.service.AttractionService.TotalMode;
+import com.example.attractions.snapshot.AttractionSnapshot;
+import com.example.attractions.snapshot.AttractionSnapshotRefresher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AttractionServiceImplTest {
@@ -35,6 +68,27 @@ class AttractionServiceImplTest {
     @Mock
     private AttractionMapper attractionMapper;
 
+    @Mock
+    private CacheEvictor cacheEvictor;
+
+    @Mock
+    private PatchJdbcRepository patchJdbcRepository;
+
+    @Mock
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Mock
+    private AttractionFacetRepository attractionFacetRepository;
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    @Mock
+    private ObjectProvider<AttractionSnapshotRefresher> snapshotRefresher;
+
     @InjectMocks
     private AttractionServiceImpl attractionService;
 
@@ -68,7 +122,8 @@ class AttractionServiceImplTest {
     @Test
     void testAddAttraction() {
         when(attractionMapper.toEntity(any(AttractionDto.class))).thenReturn(attraction);
-        when(localityRepository.findById(anyLong())).thenReturn(Optional.of(locality));
+        when(localityRepository.existsById(locality.getId())).thenReturn(true);
+        when(localityRepository.getReferenceById(anyLong())).thenReturn(locality);
         when(attractionRepository.save(any(Attraction.class))).thenReturn(attraction);
         when(attractionMapper.toDto(any(Attraction.class))).thenReturn(attractionDto);
 
@@ -77,7 +132,9 @@ class AttractionServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(attractionMapper, times(1)).toEntity(any(AttractionDto.class));
-        verify(localityRepository, times(1)).findById(locality.getId());
+        verify(localityRepository, times(1)).existsById(locality.getId());
+        verify(localityRepository, times(1)).getReferenceById(locality.getId());
+        verify(localityRepository, times(0)).findById(anyLong());
         verify(attractionRepository, times(1)).save(attraction);
         verify(attractionMapper, times(1)).toDto(attraction);
     }
@@ -118,6 +175,7 @@ class AttractionServiceImplTest {
 
         verify(attractionRepository, times(1)).existsById(attractionId);
         verify(attractionRepository, times(1)).deleteById(attractionId);
+        verify(changeEventRepository).append(EntityType.ATTRACTION, Operation.DELETED, attractionId, null);
     }
 
     @Test
@@ -133,27 +191,333 @@ class AttractionServiceImplTest {
     @Test
     void testGetAllAttractions() {
         PageRequest pageable = PageRequest.of(0, 10);
-        when(attractionRepository.findAll(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(attraction)));
-        when(attractionMapper.toDto(any(Attraction.class))).thenReturn(attractionDto);
+        PageRequest ordered = PageRequest.of(0, 10, Sort.by("name", "id"));
+        when(attractionRepository.findAll(ordered)).thenReturn(new PageImpl<>(Collections.singletonList(attraction)));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
 
         Page<AttractionDto> result = attractionService.getAllAttractions(null, pageable);
 
         assertEquals(1, result.getTotalElements());
-        verify(attractionRepository, times(1)).findAll(pageable);
-        verify(attractionMapper, times(1)).toDto(attraction);
+        verify(attractionRepository, times(1)).findAll(ordered);
+        verify(attractionMapper, times(1)).toDto(attraction, List.of());
+    }
+
+    @Test
+    void testGetAllAttractions_ByTypeCountsOnlyWhenPageIsFull() {
+        when(attractionRepository.findByType(AttractionType.MUSEUM, PageRequest.of(0, 10, Sort.by("name", "id"))))
+                .thenReturn(List.of(attraction));
+        when(attractionRepository.findByType(AttractionType.MUSEUM, PageRequest.of(0, 1, Sort.by("name", "id"))))
+                .thenReturn(List.of(attraction));
+        when(attractionRepository.countByType(AttractionType.MUSEUM)).thenReturn(5L);
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        Page<AttractionDto> partial = attractionService.getAllAttractions("museum", PageRequest.of(0, 10));
+        verify(attractionRepository, never()).countByType(any());
+        Page<AttractionDto> full = attractionService.getAllAttractions("museum", PageRequest.of(0, 1));
+
+        assertEquals(1, partial.getTotalElements());
+        assertEquals(5, full.getTotalElements());
+        verify(attractionRepository, times(1)).countByType(AttractionType.MUSEUM);
+    }
+
+    @Test
+    void testGetAllAttractions_WithoutTotal() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        when(attractionRepository.findSliceByType(AttractionType.MUSEUM, PageRequest.of(0, 1, Sort.by("name", "id"))))
+                .thenReturn(new SliceImpl<>(List.of(attraction), pageable, true));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        Slice<AttractionDto> result = attractionService.getAllAttractions("museum", pageable, TotalMode.NONE);
+
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        assertEquals(List.of(attractionDto), result.getContent());
+        verify(attractionRepository, never()).countByType(any());
+        verifyNoInteractions(rowEstimateRepository);
+    }
+
+    @Test
+    void testGetAttractionsByLocality_EstimatedTotal() {
+        PageRequest first = PageRequest.of(0, 1);
+        PageRequest last = PageRequest.of(3, 1);
+        when(attractionRepository.findSliceByLocalityId(1L, PageRequest.of(0, 1, Sort.by("name", "id"))))
+                .thenReturn(new SliceImpl<>(List.of(attraction), first, true));
+        when(attractionRepository.findSliceByLocalityId(1L, PageRequest.of(3, 1, Sort.by("name", "id"))))
+                .thenReturn(new SliceImpl<>(List.of(attraction), last, false));
+        when(rowEstimateRepository.estimateAttractionsByLocality(1L)).thenReturn(10L);
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        Page<AttractionDto> estimated =
+                (Page<AttractionDto>) attractionService.getAttractionsByLocality(1L, first, TotalMode.ESTIMATE);
+        Page<AttractionDto> exact =
+                (Page<AttractionDto>) attractionService.getAttractionsByLocality(1L, last, TotalMode.ESTIMATE);
+
+        assertEquals(10, estimated.getTotalElements());
+        assertEquals(4, exact.getTotalElements());
+        verify(rowEstimateRepository, times(1)).estimateAttractionsByLocality(1L);
+        verify(attractionRepository, never()).findByLocalityId(any(), any());
+    }
+
+    @Test
+    void testGetAllAttractions_FromSnapshot() {
+        AttractionSnapshotRefresher refresher = mock(AttractionSnapshotRefresher.class);
+        when(snapshotRefresher.getIfAvailable()).thenReturn(refresher);
+        when(refresher.current()).thenReturn(Optional.of(AttractionSnapshot.of(List.of(attractionDto))));
+        when(attractionRepository.findAll(PageRequest.of(0, 10, Sort.by("id")))).thenReturn(Page.empty());
+
+        Page<AttractionDto> result = attractionService.getAllAttractions("museum", PageRequest.of(0, 10, Sort.by("name")));
+        Page<AttractionDto> sortedById = attractionService.getAllAttractions(null, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Attraction Name", result.getContent().get(0).getName());
+        verify(attractionRepository, never()).findByType(any(), any());
+        assertTrue(sortedById.isEmpty());
+        verify(attractionRepository, times(1)).findAll(PageRequest.of(0, 10, Sort.by("id")));
+        assertTrue(attractionService.getAttractionsVersion().startsWith("s"));
     }
 
     @Test
     void testGetAttractionsByLocality() {
         Long localityId = 1L;
-        PageRequest pageable = PageRequest.of(0, 10);
-        when(attractionRepository.findByLocalityId(localityId, pageable)).thenReturn(new PageImpl<>(Collections.singletonList(attraction)));
-        when(attractionMapper.toDto(any(Attraction.class))).thenReturn(attractionDto);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "type"));
+        PageRequest ordered = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "type").and(Sort.by("id")));
+        when(attractionRepository.findByLocalityId(localityId, ordered)).thenReturn(new PageImpl<>(Collections.singletonList(attraction)));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
 
         Page<AttractionDto> result = attractionService.getAttractionsByLocality(localityId, pageable);
 
         assertEquals(1, result.getTotalElements());
-        verify(attractionRepository, times(1)).findByLocalityId(localityId, pageable);
-        verify(attractionMapper, times(1)).toDto(attraction);
+        verify(attractionRepository, times(1)).findByLocalityId(localityId, ordered);
+        verify(attractionMapper, times(1)).toDto(attraction, List.of());
+    }
+
+    @Test
+    void testGetAllAttractionsAfter_FirstPageHasNext() {
+        Attraction next = new Attraction();
+        next.setId(2L);
+        next.setName("Next Attraction");
+        when(attractionRepository.findFirstKeysetPageByType(AttractionType.MUSEUM, Limit.of(2)))
+                .thenReturn(List.of(attraction, next));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        CursorPageDto<AttractionDto> result = attractionService.getAllAttractionsAfter("museum", null, 1);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(new KeysetCursor("Attraction Name", 1L), KeysetCursor.decode(result.getNextCursor()));
+        verify(attractionMapper, times(1)).toDto(attraction, List.of());
+        verify(attractionMapper, times(0)).toDto(eq(next), anyList());
+    }
+
+    @Test
+    void testGetAttractionsByLocalityAfter_LastPage() {
+        String after = new KeysetCursor("A: with separator", 5L).encode();
+        when(attractionRepository.findKeysetPageByLocalityIdAfter(1L, "A: with separator", 5L, Limit.of(11)))
+                .thenReturn(List.of(attraction));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        CursorPageDto<AttractionDto> result = attractionService.getAttractionsByLocalityAfter(1L, after, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(attractionRepository, times(0)).findByLocalityId(anyLong(), any());
+    }
+
+    @Test
+    void testGetAllAttractionsAfter_InvalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> attractionService.getAllAttractionsAfter(null, "not a cursor", 10));
+        verify(attractionRepository, times(0)).findKeysetPageAfter(any(), any(), any());
+    }
+
+    @Test
+    void testGetAllAttractions_LoadsAssistanceIdsPerPage() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        IdLink link = mock(IdLink.class);
+        when(link.getOwnerId()).thenReturn(1L);
+        when(link.getLinkedId()).thenReturn(7L);
+        when(attractionRepository.findAll(PageRequest.of(0, 10, Sort.by("name", "id"))))
+                .thenReturn(new PageImpl<>(Collections.singletonList(attraction)));
+        when(attractionRepository.findAssistanceLinks(List.of(1L))).thenReturn(List.of(link));
+        when(attractionMapper.toDto(any(Attraction.class), anyList())).thenReturn(attractionDto);
+
+        attractionService.getAllAttractions(null, pageable);
+
+        verify(attractionRepository, times(1)).findAssistanceLinks(List.of(1L));
+        verify(attractionMapper, times(1)).toDto(attraction, List.of(7L));
+        verify(attractionMapper, times(0)).toDto(any(Attraction.class));
+    }
+
+    @Test
+    void testAddAttraction_LocalityNotFound() {
+        when(attractionMapper.toEntity(any(AttractionDto.class))).thenReturn(attraction);
+        when(localityRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> attractionService.addAttraction(attractionDto));
+        verify(localityRepository, times(0)).getReferenceById(anyLong());
+        verify(attractionRepository, times(0)).save(any(Attraction.class));
+    }
+
+    @Test
+    void testAddAttraction_EvictsLocality() {
+        when(attractionMapper.toEntity(any(AttractionDto.class))).thenReturn(attraction);
+        when(localityRepository.existsById(locality.getId())).thenReturn(true);
+        when(localityRepository.getReferenceById(anyLong())).thenReturn(locality);
+        when(attractionRepository.save(any(Attraction.class))).thenReturn(attraction);
+
+        attractionService.addAttraction(attractionDto);
+
+        verify(cacheEvictor, times(1)).evict(CacheConfig.LOCALITIES, locality.getId());
+    }
+
+    @Test
+    void testUpdateAttraction_EvictsPreviousAndNewLocality() {
+        Locality newLocality = new Locality();
+        newLocality.setId(2L);
+        attractionDto.setLocalityId(2L);
+        when(attractionRepository.findById(1L)).thenReturn(Optional.of(attraction));
+        when(localityRepository.existsById(2L)).thenReturn(true);
+        when(localityRepository.getReferenceById(2L)).thenReturn(newLocality);
+        when(attractionRepository.save(any(Attraction.class))).thenReturn(attraction);
+        when(attractionMapper.toDto(any(Attraction.class))).thenReturn(attractionDto);
+
+        attractionService.updateAttraction(1L, attractionDto);
+
+        verify(cacheEvictor, times(1)).evict(CacheConfig.LOCALITIES, 1L);
+        verify(cacheEvictor, times(1)).evict(CacheConfig.LOCALITIES, 2L);
+        verify(localityRepository, times(0)).findById(anyLong());
+    }
+
+    @Test
+    void testGetAttractionsNear_PreservesDistanceOrder() {
+        Attraction second = new Attraction();
+        second.setId(2L);
+        AttractionDto secondDto = new AttractionDto();
+        secondDto.setId(2L);
+        NearbyId nearest = mock(NearbyId.class);
+        when(nearest.getId()).thenReturn(2L);
+        when(nearest.getDistanceKm()).thenReturn(0.5);
+        NearbyId farther = mock(NearbyId.class);
+        when(farther.getId()).thenReturn(1L);
+        when(farther.getDistanceKm()).thenReturn(3.0);
+        when(attractionRepository.findWithinRadius(55.75, 37.62, 5000.0, "MUSEUM", 10))
+                .thenReturn(List.of(nearest, farther));
+        when(attractionRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(attraction, second));
+        when(attractionMapper.toDto(attraction, List.of())).thenReturn(attractionDto);
+        when(attractionMapper.toDto(second, List.of())).thenReturn(secondDto);
+
+        List<NearbyAttractionDto> result = attractionService.getAttractionsNear(55.75, 37.62, 5.0, "museum", 10);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getAttraction().getId());
+        assertEquals(0.5, result.get(0).getDistanceKm());
+        assertEquals(1L, result.get(1).getAttraction().getId());
+        verify(attractionRepository, times(0)).findNearest(anyDouble(), anyDouble(), any(), anyInt());
+    }
+
+    @Test
+    void testGetAttractionsNear_WithoutRadiusUsesNearestAndCapsLimit() {
+        when(attractionRepository.findNearest(55.75, 37.62, null, AttractionServiceImpl.MAX_NEARBY_RESULTS))
+                .thenReturn(List.of());
+
+        List<NearbyAttractionDto> result = attractionService.getAttractionsNear(55.75, 37.62, null, null, 100_000);
+
+        assertTrue(result.isEmpty());
+        verify(attractionRepository, times(0)).findAllById(any());
+    }
+
+    @Test
+    void testGetAttractionsNear_InvalidCoordinates() {
+        assertThrows(BadRequestException.class,
+                () -> attractionService.getAttractionsNear(91, 0, null, null, 10));
+        assertThrows(BadRequestException.class,
+                () -> attractionService.getAttractionsNear(0, 0, -1.0, null, 10));
+    }
+
+    @Test
+    void testSearchAttractions_EscapesPrefixAndKeepsRankOrder() {
+        RankedId hit = mock(RankedId.class);
+        when(hit.getId()).thenReturn(1L);
+        when(hit.getRank()).thenReturn(0.8);
+        when(attractionRepository.search("50%_off", "50\\%\\_off%", 20)).thenReturn(List.of(hit));
+        when(attractionRepository.findAllById(List.of(1L))).thenReturn(List.of(attraction));
+        when(attractionMapper.toDto(attraction, List.of())).thenReturn(attractionDto);
+
+        List<AttractionSearchResultDto> result = attractionService.searchAttractions("  50%_off ", 20);
+
+        assertEquals(1, result.size());
+        assertEquals(attractionDto, result.get(0).getAttraction());
+        assertEquals(0.8, result.get(0).getRank());
+    }
+
+    @Test
+    void testSearchAttractions_BlankQuery() {
+        assertThrows(BadRequestException.class, () -> attractionService.searchAttractions(" ", 20));
+        verify(attractionRepository, times(0)).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetAttractionFacets_ParsesFilters() {
+        AttractionFacetsDto facets = new AttractionFacetsDto();
+        when(attractionFacetRepository.countFacets(AttractionType.MUSEUM, "Moscow", AssistanceType.GUIDE))
+                .thenReturn(facets);
+
+        assertSame(facets, attractionService.getAttractionFacets("museum", "Moscow", "guide"));
+    }
+
+    @Test
+    void testGetAttractionFacets_InvalidAssistanceType() {
+        assertThrows(BadRequestException.class,
+                () -> attractionService.getAttractionFacets(null, null, "boat"));
+        verifyNoInteractions(attractionFacetRepository);
+    }
+
+    @Test
+    void testPatchAttraction() {
+        AttractionDto patch = new AttractionDto();
+        patch.setShortDescription("New description");
+        patch.setType("museum");
+        patch.setVersion(3L);
+        when(patchJdbcRepository.patchAttraction(1L, 3L, patch)).thenReturn(1);
+
+        long version = attractionService.patchAttraction(1L, patch);
+
+        assertEquals(4L, version);
+        assertEquals("MUSEUM", patch.getType());
+        verify(attractionRepository, never()).findById(anyLong());
+        verify(attractionRepository, never()).existsById(anyLong());
+        verify(hibernateCacheInvalidator).evictAttractionQueries();
+    }
+
+    @Test
+    void testPatchAttraction_VersionConflict() {
+        AttractionDto patch = new AttractionDto();
+        patch.setName("New name");
+        patch.setVersion(3L);
+        when(patchJdbcRepository.patchAttraction(1L, 3L, patch)).thenReturn(0);
+        when(attractionRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> attractionService.patchAttraction(1L, patch));
+    }
+
+    @Test
+    void testPatchAttraction_NotFound() {
+        AttractionDto patch = new AttractionDto();
+        patch.setName("New name");
+        patch.setVersion(3L);
+        when(patchJdbcRepository.patchAttraction(1L, 3L, patch)).thenReturn(0);
+        when(attractionRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> attractionService.patchAttraction(1L, patch));
+    }
+
+    @Test
+    void testPatchAttraction_VersionRequired() {
+        AttractionDto patch = new AttractionDto();
+        patch.setName("New name");
+
+        assertThrows(BadRequestException.class, () -> attractionService.patchAttraction(1L, patch));
+        verifyNoInteractions(patchJdbcRepository);
     }
 }
@@ -0,0 +1,89 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.CatalogImportReportDto;
+import com.example.attractions.service.CatalogArchiveService;
+import com.example.attractions.service.CatalogArchiveService.ArchiveFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что выгруженный архив загружается в пустую схему: связи с услугами ссылаются
+ * на строки, которые к моменту их вставки уже загружены, и внешние ключи не нарушаются.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CatalogArchiveIntegrationTest {
+
+    private static final String SELECT_LINKS = """
+            SELECT 'locality' AS owner, locality_id AS owner_id, assistance_id FROM locality_assistance
+            UNION ALL
+            SELECT 'attraction', attraction_id, assistance_id FROM attraction_assistance
+            ORDER BY owner, owner_id, assistance_id
+            """;
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("test")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private CatalogArchiveService catalogArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        truncateCatalog();
+        jdbcTemplate.update("INSERT INTO assistance (id, type, executor) VALUES (10, 'GUIDE', 'Иванов'), (11, 'CATERING', NULL)");
+        jdbcTemplate.update("INSERT INTO locality (id, name, region) VALUES (20, 'Суздаль', 'Владимирская область')");
+        jdbcTemplate.update("INSERT INTO locality_assistance (locality_id, assistance_id) VALUES (20, 10), (20, 11)");
+        jdbcTemplate.update("INSERT INTO attraction (id, name, type, locality_id) VALUES (30, 'Кремль', 'PALACE', 20)");
+        jdbcTemplate.update("INSERT INTO attraction_assistance (attraction_id, assistance_id) VALUES (30, 10)");
+    }
+
+    @Test
+    void testRoundTripIntoEmptySchema() {
+        List<Map<String, Object>> links = jdbcTemplate.queryForList(SELECT_LINKS);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        catalogArchiveService.exportCatalog(ArchiveFormat.TAR_GZ, archive);
+        truncateCatalog();
+
+        CatalogImportReportDto report = catalogArchiveService.importCatalog(new ByteArrayInputStream(archive.toByteArray()));
+
+        assertEquals(2, report.getAssistances());
+        assertEquals(1, report.getLocalities());
+        assertEquals(1, report.getAttractions());
+        assertEquals(links, jdbcTemplate.queryForList(SELECT_LINKS));
+        assertEquals("Кремль", jdbcTemplate.queryForObject("SELECT name FROM attraction WHERE id = 30", String.class));
+        // последовательности сдвинуты за загруженные идентификаторы
+        assertTrue(jdbcTemplate.queryForObject("SELECT nextval('assistance_seq')", Long.class) > 11);
+    }
+
+    private void truncateCatalog() {
+        jdbcTemplate.execute("TRUNCATE attraction_assistance, locality_assistance, attraction, locality, assistance CASCADE");
+    }
+}
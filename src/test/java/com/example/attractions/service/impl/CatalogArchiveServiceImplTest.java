@@ -0,0 +1,140 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.dto.AssistanceDto;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.CatalogImportReportDto;
+import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.jdbc.ExportConnectionPool;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.service.CatalogArchiveService.ArchiveFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogArchiveServiceImplTest {
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private ExportConnectionPool exportConnectionPool;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    private CatalogArchiveServiceImpl catalogArchiveService;
+
+    private LocalityDto localityDto;
+    private AssistanceDto assistanceDto;
+    private AttractionDto attractionDto;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogArchiveService = new CatalogArchiveServiceImpl(
+                catalogJdbcRepository, exportConnectionPool, new ObjectMapper().findAndRegisterModules(),
+                transactionManager, hibernateCacheInvalidator);
+        doAnswer(invocation -> {
+            invocation.<Consumer<CatalogJdbcRepository>>getArgument(0).accept(catalogJdbcRepository);
+            return null;
+        }).when(exportConnectionPool).readOnly(any());
+
+        localityDto = new LocalityDto();
+        localityDto.setId(1L);
+        localityDto.setName("Москва");
+        localityDto.setRegion("Московская область");
+        localityDto.setAssistanceIds(List.of(2L));
+
+        assistanceDto = new AssistanceDto();
+        assistanceDto.setId(2L);
+        assistanceDto.setType("GUIDE");
+
+        attractionDto = new AttractionDto();
+        attractionDto.setId(3L);
+        attractionDto.setName("Кремль");
+        attractionDto.setType("PALACE");
+        attractionDto.setLocalityId(1L);
+        attractionDto.setCreationDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        attractionDto.setAssistanceIds(List.of(2L));
+
+        doAnswer(invocation -> emit(invocation.getArgument(0), localityDto))
+                .when(catalogJdbcRepository).streamLocalities(any());
+        doAnswer(invocation -> emit(invocation.getArgument(0), assistanceDto))
+                .when(catalogJdbcRepository).streamAssistances(any());
+        doAnswer(invocation -> emit(invocation.getArgument(0), attractionDto))
+                .when(catalogJdbcRepository).streamAttractions(any());
+    }
+
+    @Test
+    void testExportImportRoundTrip_Gzip() {
+        assertRoundTrip(ArchiveFormat.TAR_GZ);
+    }
+
+    @Test
+    void testExportImportRoundTrip_Zstd() {
+        assertRoundTrip(ArchiveFormat.TAR_ZST);
+    }
+
+    @Test
+    void testImportUnsupportedFormat() {
+        ByteArrayInputStream input = new ByteArrayInputStream("not an archive".getBytes());
+
+        assertThrows(BadRequestException.class, () -> catalogArchiveService.importCatalog(input));
+        verify(catalogJdbcRepository, times(0)).resetSequences();
+    }
+
+    @Test
+    void testFromExtension() {
+        assertEquals(ArchiveFormat.TAR_ZST, ArchiveFormat.fromExtension("TAR.ZST"));
+        assertThrows(BadRequestException.class, () -> ArchiveFormat.fromExtension("zip"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertRoundTrip(ArchiveFormat format) {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        catalogArchiveService.exportCatalog(format, archive);
+
+        CatalogImportReportDto report = catalogArchiveService.importCatalog(new ByteArrayInputStream(archive.toByteArray()));
+
+        assertEquals(1, report.getLocalities());
+        assertEquals(1, report.getAssistances());
+        assertEquals(1, report.getAttractions());
+
+        ArgumentCaptor<List<LocalityDto>> localities = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<AttractionDto>> attractions = ArgumentCaptor.forClass(List.class);
+        // связи ссылаются на уже загруженные строки: услуги, затем местоположения, затем достопримечательности
+        InOrder inOrder = inOrder(catalogJdbcRepository);
+        inOrder.verify(catalogJdbcRepository).upsertAssistances(List.of(assistanceDto));
+        inOrder.verify(catalogJdbcRepository).upsertLocalities(localities.capture());
+        inOrder.verify(catalogJdbcRepository).upsertAttractions(attractions.capture());
+        inOrder.verify(catalogJdbcRepository).resetSequences();
+        verify(hibernateCacheInvalidator).evictAll();
+        assertEquals(List.of(localityDto), localities.getValue());
+        assertEquals(List.of(attractionDto), attractions.getValue());
+    }
+
+    private static <T> Object emit(Consumer<T> consumer, T value) {
+        consumer.accept(value);
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.dto.ChangeEventDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
+import com.example.attractions.dto.ChangeFeedDto;
+import com.example.attractions.exception.BadRequestException;
+import com.example.attractions.repository.ChangeEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceImplTest {
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @InjectMocks
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static ChangeEventDto event(long seq) {
+        return new ChangeEventDto(seq, EntityType.ATTRACTION, seq * 10, Operation.UPDATED, 1L, null);
+    }
+
+    @Test
+    void testGetChanges_ContinuousPage() {
+        when(changeEventRepository.findPublishedAfter(5L, 3)).thenReturn(List.of(event(6), event(7), event(9)));
+
+        ChangeFeedDto result = changeFeedService.getChanges(5L, 2);
+
+        assertEquals(List.of(6L, 7L), result.getEvents().stream().map(ChangeEventDto::getSeq).toList());
+        assertEquals(7L, result.getNext());
+        assertTrue(result.isHasMore());
+        assertFalse(result.isResyncRequired());
+        verify(changeEventRepository, never()).findMinPublishedSeq();
+    }
+
+    @Test
+    void testGetChanges_PrunedEventsRequireResync() {
+        when(changeEventRepository.findPublishedAfter(5L, 101)).thenReturn(List.of(event(40)));
+        when(changeEventRepository.findMinPublishedSeq()).thenReturn(40L);
+
+        ChangeFeedDto result = changeFeedService.getChanges(5L, 100);
+
+        assertTrue(result.isResyncRequired());
+        assertEquals(40L, result.getNext());
+        assertFalse(result.isHasMore());
+        assertThrows(BadRequestException.class, () -> changeFeedService.getChanges(-1L, 100));
+    }
+}
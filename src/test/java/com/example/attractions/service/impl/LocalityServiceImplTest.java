@@ -1,10 +1,24 @@
 package com.example.attractions.service.impl;
 
+import com.example.attractions.cache.CacheEvictor;
+import com.example.attractions.cache.HibernateCacheInvalidator;
+import com.example.attractions.config.CacheConfig;
+import com.example.attractions.dto.BatchItemResultDto.Status;
+import com.example.attractions.dto.BatchResultDto;
+import com.example.attractions.dto.ChangeEventDto.EntityType;
+import com.example.attractions.dto.ChangeEventDto.Operation;
 import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.exception.BadRequestException;
 import com.example.attractions.exception.NotFoundException;
 import com.example.attractions.mapper.LocalityMapper;
 import com.example.attractions.model.Locality;
+import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.repository.ChangeEventRepository;
 import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.TableVersionRepository;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,11 +28,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class LocalityServiceImplTest {
@@ -26,9 +45,33 @@ class LocalityServiceImplTest {
     @Mock
     private LocalityRepository localityRepository;
 
+    @Mock
+    private AssistanceRepository assistanceRepository;
+
     @Mock
     private LocalityMapper localityMapper;
 
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private PatchJdbcRepository patchJdbcRepository;
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private HibernateCacheInvalidator hibernateCacheInvalidator;
+
+    @Mock
+    private CacheEvictor cacheEvictor;
+
     @InjectMocks
     private LocalityServiceImpl localityService;
 
@@ -110,11 +153,149 @@ class LocalityServiceImplTest {
     void testGetAllLocalities() {
         PageRequest pageable = PageRequest.of(0, 10);
         when(localityRepository.findAll(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(locality)));
-        when(localityMapper.toDto(any(Locality.class))).thenReturn(localityDto);
+        when(localityMapper.toDto(any(Locality.class), anyList(), anyList())).thenReturn(localityDto);
 
         Page<LocalityDto> result = localityService.getAllLocalities(pageable);
 
         assertEquals(1, result.getTotalElements());
         verify(localityRepository, times(1)).findAll(pageable);
+        verify(localityRepository, times(1)).findAttractionLinks(List.of(1L));
+        verify(localityRepository, times(1)).findAssistanceLinks(List.of(1L));
+        verify(localityMapper, times(0)).toDto(any(Locality.class));
+    }
+
+    @Test
+    void testGetLocalityVersion() {
+        when(localityRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(tableVersionRepository.sumVersions(TableVersionRepository.ATTRACTION,
+                TableVersionRepository.LOCALITY_ASSISTANCE)).thenReturn(7L);
+
+        assertEquals("3.7", localityService.getLocalityVersion(1L));
+        verify(localityRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetLocalityVersion_NotFound() {
+        when(localityRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                localityService.getLocalityVersion(1L)
+        );
+        assertEquals("Locality not found with ID: 1", exception.getMessage());
+        verifyNoInteractions(tableVersionRepository);
+    }
+
+    @Test
+    void testSaveLocalities() {
+        LocalityDto newLocality = new LocalityDto();
+        newLocality.setName("Казань");
+        newLocality.setRegion("Татарстан");
+        newLocality.setAssistanceIds(List.of(5L, 6L));
+        LocalityDto update = new LocalityDto();
+        update.setId(1L);
+        update.setShortDescription("Обновлено");
+        update.setAssistanceIds(List.of(5L));
+        LocalityDto missing = new LocalityDto();
+        missing.setId(2L);
+        LocalityDto unknownAssistance = new LocalityDto();
+        unknownAssistance.setName("Тверь");
+        unknownAssistance.setRegion("Тверская область");
+        unknownAssistance.setAssistanceIds(List.of(9L));
+
+        Locality created = new Locality();
+        when(localityRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(locality));
+        when(assistanceRepository.findExistingIds(Set.of(5L, 6L, 9L))).thenReturn(Set.of(5L, 6L));
+        when(localityMapper.toEntity(newLocality)).thenReturn(created);
+        when(localityMapper.toEntity(unknownAssistance)).thenReturn(new Locality());
+        when(localityRepository.saveAll(any())).thenAnswer(invocation -> {
+            created.setId(100L);
+            return List.of(created);
+        });
+
+        BatchResultDto result = localityService.saveLocalities(
+                Arrays.asList(newLocality, update, missing, unknownAssistance, null));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(3, result.getFailed());
+        assertEquals(5, result.getItems().size());
+        assertEquals(Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(100L, result.getItems().get(0).getId());
+        assertEquals(Status.UPDATED, result.getItems().get(1).getStatus());
+        assertEquals("Locality not found with ID: 2", result.getItems().get(2).getError());
+        assertEquals("Assistance not found with ID: 9", result.getItems().get(3).getError());
+        assertEquals("Empty record", result.getItems().get(4).getError());
+        assertEquals("Обновлено", locality.getShortDescription());
+        verify(localityRepository, times(1)).findAllById(any());
+        verify(assistanceRepository, times(1)).findExistingIds(any());
+        verify(localityRepository, times(1)).saveAll(any());
+        verify(catalogJdbcRepository).replaceLocalityAssistances(Map.of(100L, List.of(5L, 6L), 1L, List.of(5L)));
+        verify(hibernateCacheInvalidator).evictLocalityAssistances(Set.of(100L, 1L));
+        verify(changeEventRepository).appendAll(EntityType.LOCALITY, Operation.CREATED,
+                Collections.singletonMap(100L, null));
+        verify(changeEventRepository).appendAll(EntityType.LOCALITY, Operation.UPDATED,
+                Collections.singletonMap(1L, locality.getVersion()));
+    }
+
+    @Test
+    void testSaveLocalities_BumpsVersionOnlyWhenSomethingChanged() {
+        Locality unchanged = new Locality();
+        unchanged.setId(2L);
+        unchanged.setShortDescription("Без изменений");
+        unchanged.setVersion(4L);
+        locality.setShortDescription("Прежнее");
+        locality.setVersion(7L);
+        LocalityDto relinked = new LocalityDto();
+        relinked.setId(1L);
+        relinked.setShortDescription("Прежнее");
+        relinked.setAssistanceIds(List.of(5L));
+        LocalityDto same = new LocalityDto();
+        same.setId(2L);
+        same.setShortDescription("Без изменений");
+        when(localityRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(locality, unchanged));
+        when(assistanceRepository.findExistingIds(Set.of(5L))).thenReturn(Set.of(5L));
+        when(catalogJdbcRepository.incrementLocalityVersions(Set.of(1L))).thenReturn(Map.of(1L, 8L));
+
+        BatchResultDto result = localityService.saveLocalities(List.of(relinked, same));
+
+        assertEquals(2, result.getUpdated());
+        verify(catalogJdbcRepository).incrementLocalityVersions(Set.of(1L));
+        verify(hibernateCacheInvalidator).evictLocality(1L);
+        verify(changeEventRepository).appendAll(EntityType.LOCALITY, Operation.UPDATED, Map.of(1L, 8L));
+    }
+
+    @Test
+    void testSaveLocalities_TooLarge() {
+        List<LocalityDto> batch = Collections.nCopies(LocalityServiceImpl.MAX_BATCH_SIZE + 1, localityDto);
+
+        assertThrows(BadRequestException.class, () -> localityService.saveLocalities(batch));
+        verifyNoInteractions(catalogJdbcRepository);
+    }
+
+    @Test
+    void testPatchLocality() {
+        LocalityDto patch = new LocalityDto();
+        patch.setRegion("New region");
+        patch.setVersion(7L);
+        when(patchJdbcRepository.patchLocality(1L, 7L, patch)).thenReturn(1);
+        when(tableVersionRepository.sumVersions(TableVersionRepository.ATTRACTION,
+                TableVersionRepository.LOCALITY_ASSISTANCE)).thenReturn(5L);
+
+        // ETag строится из новой версии строки без повторного чтения записи
+        assertEquals("8.5", localityService.patchLocality(1L, patch));
+        verify(localityRepository, never()).findById(any());
+        verify(localityRepository, never()).findVersionById(any());
+        verify(hibernateCacheInvalidator).evictLocality(1L);
+        verify(cacheEvictor).evict(CacheConfig.LOCALITIES, 1L);
+    }
+
+    @Test
+    void testPatchLocality_BlankName() {
+        LocalityDto patch = new LocalityDto();
+        patch.setName(" ");
+        patch.setVersion(7L);
+
+        assertThrows(BadRequestException.class, () -> localityService.patchLocality(1L, patch));
+        verifyNoInteractions(patchJdbcRepository);
     }
 }
@@ -0,0 +1,148 @@
+package com.example.attractions.service.impl;
+
+import com.example.attractions.config.CacheConfig;
+import com.example.attractions.config.HibernateCacheConfig;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.dto.LocalityDto;
+import com.example.attractions.mapper.AttractionMapperImpl;
+import com.example.attractions.mapper.LocalityMapperImpl;
+import com.example.attractions.model.Assistance;
+import com.example.attractions.model.AssistanceType;
+import com.example.attractions.model.Attraction;
+import com.example.attractions.model.AttractionType;
+import com.example.attractions.model.Locality;
+import com.example.attractions.repository.AssistanceRepository;
+import com.example.attractions.repository.AttractionFacetRepository;
+import com.example.attractions.repository.AttractionRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import com.example.attractions.repository.ChangeEventRepository;
+import com.example.attractions.repository.LocalityRepository;
+import com.example.attractions.repository.PatchJdbcRepository;
+import com.example.attractions.repository.RowEstimateRepository;
+import com.example.attractions.repository.TableVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({CacheConfig.class, HibernateCacheConfig.class, AttractionServiceImpl.class, AttractionMapperImpl.class,
+        LocalityServiceImpl.class, LocalityMapperImpl.class, TableVersionRepository.class, PatchJdbcRepository.class,
+        CatalogJdbcRepository.class, ChangeEventRepository.class, RowEstimateRepository.class,
+        AttractionFacetRepository.class})
+class ReadPathStatementCountIntegrationTest {
+
+    private static final int ROWS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("test")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private AttractionServiceImpl attractionService;
+
+    @Autowired
+    private LocalityServiceImpl localityService;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private LocalityRepository localityRepository;
+
+    @Autowired
+    private AssistanceRepository assistanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Assistance guide = new Assistance();
+        guide.setType(AssistanceType.GUIDE);
+        Assistance catering = new Assistance();
+        catering.setType(AssistanceType.CATERING);
+        List<Assistance> assistances = assistanceRepository.saveAll(List.of(guide, catering));
+
+        for (int i = 0; i < ROWS; i++) {
+            Locality locality = new Locality();
+            locality.setName("Locality " + i);
+            locality.setRegion("Region");
+            locality.setAssistanceList(assistances);
+            locality = localityRepository.save(locality);
+
+            Attraction attraction = new Attraction();
+            attraction.setName("Attraction " + i);
+            attraction.setType(AttractionType.MUSEUM);
+            attraction.setLocality(locality);
+            attraction.setAssistanceList(assistances);
+            attractionRepository.save(attraction);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testAttractionPageUsesBoundedStatementCount() {
+        Page<AttractionDto> page = attractionService.getAllAttractions(null, PageRequest.of(0, PAGE_SIZE, Sort.by("name")));
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        page.getContent().forEach(dto -> assertEquals(2, dto.getAssistanceIds().size()));
+        // страница + count + идентификаторы услуг
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testLocalityPageUsesBoundedStatementCount() {
+        Page<LocalityDto> page = localityService.getAllLocalities(PageRequest.of(0, PAGE_SIZE, Sort.by("name")));
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        page.getContent().forEach(dto -> {
+            assertEquals(1, dto.getAttractionIds().size());
+            assertEquals(2, dto.getAssistanceIds().size());
+        });
+        // страница + count + идентификаторы достопримечательностей + идентификаторы услуг
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
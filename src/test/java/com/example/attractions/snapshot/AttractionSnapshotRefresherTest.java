@@ -0,0 +1,108 @@
+package com.example.attractions.snapshot;
+
+import com.example.attractions.config.CatalogSnapshotProperties;
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.repository.AttractionChangeRepository;
+import com.example.attractions.repository.CatalogJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AttractionSnapshotRefresherTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private AttractionChangeRepository attractionChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Clock clock;
+
+    private AttractionSnapshotRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.instant()).thenReturn(START);
+        refresher = new AttractionSnapshotRefresher(catalogJdbcRepository, attractionChangeRepository,
+                transactionManager, new CatalogSnapshotProperties(), clock);
+    }
+
+    private static AttractionDto attraction(long id, String name) {
+        AttractionDto dto = new AttractionDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setType("PARK");
+        dto.setLocalityId(1L);
+        return dto;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubAll(AttractionDto... rows) {
+        doAnswer(invocation -> {
+            Consumer<AttractionDto> consumer = invocation.getArgument(0);
+            for (AttractionDto row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(catalogJdbcRepository).streamAttractions(any(Consumer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadsOnceThenAppliesChangesBetweenWatermarks() {
+        stubAll(attraction(1, "Парк Горького"), attraction(2, "Зарядье"));
+        when(attractionChangeRepository.currentWatermark()).thenReturn(100L, 100L, 105L);
+        when(attractionChangeRepository.findChangedIds(100L, 105L)).thenReturn(Set.of(1L));
+        doAnswer(invocation -> {
+            Consumer<AttractionDto> consumer = invocation.getArgument(1);
+            consumer.accept(attraction(1, "Аптекарский огород"));
+            return null;
+        }).when(catalogJdbcRepository).streamAttractionsByIds(eq(Set.of(1L)), any(Consumer.class));
+
+        assertTrue(refresher.current().isEmpty());
+        refresher.refresh();
+        refresher.refresh();
+        assertEquals("Зарядье", refresher.current().orElseThrow().page(null, 0, 1).get(0).getName());
+
+        refresher.refresh();
+
+        assertEquals("Аптекарский огород", refresher.current().orElseThrow().page(null, 0, 1).get(0).getName());
+        verify(catalogJdbcRepository, times(1)).streamAttractions(any(Consumer.class));
+        verify(attractionChangeRepository, times(1)).findChangedIds(anyLong(), anyLong());
+    }
+
+    @Test
+    void testStaleSnapshotIsNotServed() {
+        stubAll(attraction(1, "Парк Горького"));
+        refresher.refresh();
+        assertTrue(refresher.current().isPresent());
+
+        when(attractionChangeRepository.currentWatermark()).thenThrow(new DataAccessResourceFailureException("down"));
+        when(clock.instant()).thenReturn(START.plus(Duration.ofMinutes(1)));
+        refresher.refresh();
+
+        assertTrue(refresher.current().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.attractions.snapshot;
+
+import com.example.attractions.dto.AttractionDto;
+import com.example.attractions.model.AttractionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttractionSnapshotTest {
+
+    private static AttractionDto attraction(long id, String name, String type, long localityId, long version) {
+        AttractionDto dto = new AttractionDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setType(type);
+        dto.setLocalityId(localityId);
+        dto.setAssistanceIds(List.of());
+        dto.setVersion(version);
+        return dto;
+    }
+
+    private static List<Long> ids(List<AttractionDto> page) {
+        return page.stream().map(AttractionDto::getId).toList();
+    }
+
+    @Test
+    void testPagesAreOrderedByNameAndId() {
+        AttractionSnapshot snapshot = AttractionSnapshot.of(List.of(
+                attraction(1, "Эрмитаж", "MUSEUM", 20, 0),
+                attraction(2, "Кремль", "PALACE", 10, 0),
+                attraction(3, "Кремль", "PALACE", 30, 0),
+                attraction(4, "Царицыно", "PARK", 10, 0)));
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(snapshot.page(null, 0, 10)));
+        assertEquals(List.of(4L, 1L), ids(snapshot.page(null, 2, 2)));
+        assertEquals(List.of(), snapshot.page(null, 4, 2));
+        assertEquals(List.of(2L, 3L), ids(snapshot.page(AttractionType.PALACE, 0, 10)));
+        assertEquals(0, snapshot.count(AttractionType.RESERVE));
+        assertEquals(List.of(2L, 4L), ids(snapshot.pageByLocality(10L, 0, 10)));
+        assertEquals(0, snapshot.countByLocality(99L));
+    }
+
+    @Test
+    void testWithChangesMatchesFullRebuild() {
+        AttractionSnapshot snapshot = AttractionSnapshot.of(List.of(
+                attraction(1, "Эрмитаж", "MUSEUM", 20, 0),
+                attraction(2, "Кремль", "PALACE", 10, 0),
+                attraction(4, "Царицыно", "PARK", 10, 0)));
+
+        AttractionDto renamed = attraction(1, "Адмиралтейство", "PALACE", 20, 1);
+        renamed.setAssistanceIds(List.of(5L, 6L));
+        AttractionDto added = attraction(7, "Коломенское", "RESERVE", 10, 0);
+        AttractionSnapshot updated = snapshot.withChanges(Set.of(1L, 4L, 7L), List.of(renamed, added));
+
+        assertEquals(List.of(1L, 7L, 2L), ids(updated.page(null, 0, 10)));
+        assertEquals(List.of(5L, 6L), updated.page(null, 0, 1).get(0).getAssistanceIds());
+        assertEquals(List.of(7L, 2L), ids(updated.pageByLocality(10L, 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(updated.page(AttractionType.PALACE, 0, 10)));
+        assertEquals(3, snapshot.size());
+
+        AttractionSnapshot rebuilt = AttractionSnapshot.of(List.of(renamed, added, attraction(2, "Кремль", "PALACE", 10, 0)));
+        assertEquals(rebuilt.getDigest(), updated.getDigest());
+        assertNotEquals(snapshot.getDigest(), updated.getDigest());
+    }
+
+    @Test
+    void testNamesAreOrderedByCodePoints() {
+        AttractionSnapshot snapshot = AttractionSnapshot.of(List.of(
+                attraction(1, "Жигули", "RESERVE", 10, 0),
+                attraction(2, "Ёлкино", "PARK", 10, 0),
+                attraction(3, "абрау", "PARK", 10, 0),
+                attraction(4, "Бор", "PARK", 10, 0),
+                attraction(5, "\uD83C\uDF32 Лес", "PARK", 10, 0),
+                attraction(6, "\uFF21 Парк", "PARK", 10, 0)));
+
+        // Ё (U+0401) раньше Б (U+0411); символ вне BMP (U+1F332) позже U+FF21, хотя его первая
+        // кодовая единица UTF-16 (U+D83C) меньше
+        assertEquals(List.of(2L, 4L, 1L, 3L, 6L, 5L), ids(snapshot.page(null, 0, 10)));
+        AttractionSnapshot updated = snapshot.withChanges(Set.of(7L), List.of(attraction(7, "ёж", "PARK", 10, 0)));
+        assertEquals(List.of(2L, 4L, 1L, 3L, 7L, 6L, 5L), ids(updated.page(null, 0, 10)));
+    }
+}